@@ -0,0 +1,306 @@
+package com.acme.cars.catalog;
+
+import com.acme.cars.event.CarroEvento;
+import com.acme.cars.model.Carro;
+import com.acme.cars.payload.CatalogFootprintPayload;
+import com.acme.cars.repository.CarroRepository;
+import com.acme.cars.specification.CarroSpecification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+  Catálogo de carros em memória, armazenado em colunas de tipos primitivos.
+  As colunas de texto são codificadas por dicionário (StringDictionary) e 'ano'/'cavalosDePotencia' ficam em int[],
+  de modo que cada linha ocupa algumas dezenas de bytes em vez de uma entidade com quatro Strings.
+  Os IDs ficam ordenados em long[], então a busca por ID é binária e dispensa um índice com objetos por linha.
+  É carregado do CarroRepository na subida e mantido sincronizado pelos CarroEvento publicados por CarroService.
+  O evento indica apenas qual linha mudou: o estado aplicado é relido do banco, já que os callbacks pós-commit
+  de escritas concorrentes no mesmo carro podem chegar fora da ordem dos commits.
+*/
+@Component
+@ConditionalOnProperty(name = "cars.catalog.columnar.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class CarroColumnarCatalog implements SmartInitializingSingleton {
+
+    private static final int CAPACIDADE_INICIAL = 256;
+    private static final RowMapper<Carro> CARRO = BeanPropertyRowMapper.newInstance(Carro.class);
+
+    private final CarroRepository carroRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serializa releitura + aplicação: a última linha aplicada foi lida depois de todos os commits já notificados.
+    private final ReentrantLock aplicacao = new ReentrantLock();
+
+    private final StringDictionary modelos = new StringDictionary();
+    private final StringDictionary cores = new StringDictionary();
+    private final StringDictionary fabricantes = new StringDictionary();
+    private final StringDictionary paises = new StringDictionary();
+
+    private long[] ids = new long[CAPACIDADE_INICIAL];
+    private int[] anos = new int[CAPACIDADE_INICIAL];
+    private int[] potencias = new int[CAPACIDADE_INICIAL];
+    private int[] codigosModelo = new int[CAPACIDADE_INICIAL];
+    private int[] codigosCor = new int[CAPACIDADE_INICIAL];
+    private int[] codigosFabricante = new int[CAPACIDADE_INICIAL];
+    private int[] codigosPais = new int[CAPACIDADE_INICIAL];
+    private final BitSet removidos = new BitSet();
+    private int linhas;
+    private int vivos;
+
+    /**
+      Carrega todas as linhas da tabela, na ordem do ID, depois que o data.sql foi executado
+      e antes do servidor web começar a aceitar requisições.
+    */
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<Carro> carros = carroRepository.findAll(Sort.by("id"));
+        lock.writeLock().lock();
+        try {
+            carros.forEach(this::gravar);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Catálogo colunar carregado com {} carros", carros.size());
+    }
+
+    /**
+      Aplica cada escrita confirmada no banco ao catálogo, relendo a linha pelo ID (ou a ausência dela).
+      A leitura é feita fora do write lock, para não bloquear as buscas durante a ida ao banco.
+    */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarCarro(CarroEvento evento) {
+        Long id = evento.carroId();
+        aplicacao.lock();
+        try {
+            Optional<Carro> atual = jdbcTemplate.query("SELECT * FROM carro WHERE id = ?", CARRO, id).stream().findFirst();
+            lock.writeLock().lock();
+            try {
+                atual.ifPresentOrElse(this::gravar, () -> remover(id));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            aplicacao.unlock();
+        }
+    }
+
+    public Optional<Carro> buscarPorId(Long id) {
+        lock.readLock().lock();
+        try {
+            int linha = localizar(id);
+            return linha < 0 ? Optional.empty() : Optional.of(materializar(linha, new Carro()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Lista os carros na ordem do ID, pulando 'offset' linhas vivas como faria o LIMIT/OFFSET do banco. */
+    public List<Carro> listar(Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            long pular = pageable.getOffset();
+            int limite = pageable.getPageSize();
+            List<Carro> pagina = new ArrayList<>(Math.min(limite, vivos));
+            for (int linha = removidos.nextClearBit(0); linha < linhas && pagina.size() < limite; linha = removidos.nextClearBit(linha + 1)) {
+                if (pular > 0) {
+                    pular--;
+                    continue;
+                }
+                pagina.add(materializar(linha, new Carro()));
+            }
+            return pagina;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+      Avalia as especificações sobre uma única instância reutilizada (flyweight),
+      criando objetos apenas para as linhas que entram no resultado.
+    */
+    public List<Carro> search(List<CarroSpecification> specifications) {
+        lock.readLock().lock();
+        try {
+            List<Carro> resultado = new ArrayList<>();
+            Carro candidato = new Carro();
+            for (int linha = removidos.nextClearBit(0); linha < linhas; linha = removidos.nextClearBit(linha + 1)) {
+                materializar(linha, candidato);
+                if (satisfaz(candidato, specifications)) {
+                    resultado.add(candidato.toBuilder().build());
+                }
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return vivos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Compara a memória das colunas com a estimativa das mesmas linhas mantidas como entidades no heap. */
+    public CatalogFootprintPayload footprint() {
+        lock.readLock().lock();
+        try {
+            int capacidade = ids.length;
+            long colunas = MemoriaEstimada.alinhar(MemoriaEstimada.CABECALHO_ARRAY + 8L * capacidade)
+                    + 6 * MemoriaEstimada.alinhar(MemoriaEstimada.CABECALHO_ARRAY + 4L * capacidade)
+                    + removidos.size() / 8;
+            long dicionarios = modelos.bytesEstimados() + cores.bytesEstimados()
+                    + fabricantes.bytesEstimados() + paises.bytesEstimados();
+
+            long entidades = 0;
+            for (int linha = removidos.nextClearBit(0); linha < linhas; linha = removidos.nextClearBit(linha + 1)) {
+                entidades += MemoriaEstimada.carro(modelos.decodificar(codigosModelo[linha]), cores.decodificar(codigosCor[linha]),
+                        fabricantes.decodificar(codigosFabricante[linha]), paises.decodificar(codigosPais[linha]));
+            }
+
+            return new CatalogFootprintPayload(vivos, colunas + dicionarios, entidades, Map.of(
+                    "modelo", modelos.tamanho(),
+                    "cor", cores.tamanho(),
+                    "fabricante", fabricantes.tamanho(),
+                    "pais", paises.tamanho()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean satisfaz(Carro carro, List<CarroSpecification> specifications) {
+        for (CarroSpecification spec : specifications) {
+            if (!spec.matches(carro)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Carro materializar(int linha, Carro destino) {
+        destino.setId(ids[linha]);
+        destino.setModelo(modelos.decodificar(codigosModelo[linha]));
+        destino.setAno(anos[linha]);
+        destino.setCor(cores.decodificar(codigosCor[linha]));
+        destino.setCavalosDePotencia(potencias[linha]);
+        destino.setFabricante(fabricantes.decodificar(codigosFabricante[linha]));
+        destino.setPais(paises.decodificar(codigosPais[linha]));
+        return destino;
+    }
+
+    /** Posição da linha viva com o ID informado, ou -1 se não existir. */
+    private int localizar(long id) {
+        int linha = Arrays.binarySearch(ids, 0, linhas, id);
+        return linha >= 0 && !removidos.get(linha) ? linha : -1;
+    }
+
+    // Chamado sempre com o write lock adquirido.
+    private void gravar(Carro carro) {
+        int linha = Arrays.binarySearch(ids, 0, linhas, carro.getId());
+        if (linha < 0) {
+            linha = novaLinha(carro.getId(), -(linha + 1));
+        } else if (removidos.get(linha)) {
+            removidos.clear(linha);
+            vivos++;
+        }
+        anos[linha] = carro.getAno();
+        potencias[linha] = carro.getCavalosDePotencia();
+        codigosModelo[linha] = modelos.codificar(carro.getModelo());
+        codigosCor[linha] = cores.codificar(carro.getCor());
+        codigosFabricante[linha] = fabricantes.codificar(carro.getFabricante());
+        codigosPais[linha] = paises.codificar(carro.getPais());
+    }
+
+    /**
+      Abre uma linha na posição que mantém os IDs ordenados. IDs novos vêm do IDENTITY do banco,
+      então na prática a posição é sempre o fim e nada precisa ser deslocado.
+    */
+    private int novaLinha(long id, int posicao) {
+        if (linhas == ids.length) {
+            crescer(ids.length * 2);
+        }
+        if (posicao < linhas) {
+            deslocar(posicao);
+        }
+        ids[posicao] = id;
+        linhas++;
+        vivos++;
+        return posicao;
+    }
+
+    private void deslocar(int posicao) {
+        int quantidade = linhas - posicao;
+        System.arraycopy(ids, posicao, ids, posicao + 1, quantidade);
+        System.arraycopy(anos, posicao, anos, posicao + 1, quantidade);
+        System.arraycopy(potencias, posicao, potencias, posicao + 1, quantidade);
+        System.arraycopy(codigosModelo, posicao, codigosModelo, posicao + 1, quantidade);
+        System.arraycopy(codigosCor, posicao, codigosCor, posicao + 1, quantidade);
+        System.arraycopy(codigosFabricante, posicao, codigosFabricante, posicao + 1, quantidade);
+        System.arraycopy(codigosPais, posicao, codigosPais, posicao + 1, quantidade);
+        BitSet deslocados = removidos.get(posicao, linhas);
+        removidos.clear(posicao, linhas + 1);
+        deslocados.stream().forEach(bit -> removidos.set(posicao + 1 + bit));
+    }
+
+    // Chamado sempre com o write lock adquirido.
+    private void remover(Long id) {
+        int linha = localizar(id);
+        if (linha < 0) {
+            return;
+        }
+        removidos.set(linha);
+        vivos--;
+        // Compacta quando mais da metade das linhas são lápides, preservando a ordem das vivas.
+        if (removidos.cardinality() > linhas / 2) {
+            compactar();
+        }
+    }
+
+    private void compactar() {
+        int destino = 0;
+        for (int origem = removidos.nextClearBit(0); origem < linhas; origem = removidos.nextClearBit(origem + 1)) {
+            ids[destino] = ids[origem];
+            anos[destino] = anos[origem];
+            potencias[destino] = potencias[origem];
+            codigosModelo[destino] = codigosModelo[origem];
+            codigosCor[destino] = codigosCor[origem];
+            codigosFabricante[destino] = codigosFabricante[origem];
+            codigosPais[destino] = codigosPais[origem];
+            destino++;
+        }
+        linhas = destino;
+        removidos.clear();
+    }
+
+    private void crescer(int capacidade) {
+        ids = Arrays.copyOf(ids, capacidade);
+        anos = Arrays.copyOf(anos, capacidade);
+        potencias = Arrays.copyOf(potencias, capacidade);
+        codigosModelo = Arrays.copyOf(codigosModelo, capacidade);
+        codigosCor = Arrays.copyOf(codigosCor, capacidade);
+        codigosFabricante = Arrays.copyOf(codigosFabricante, capacidade);
+        codigosPais = Arrays.copyOf(codigosPais, capacidade);
+    }
+}
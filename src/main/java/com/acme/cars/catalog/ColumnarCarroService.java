@@ -0,0 +1,73 @@
+package com.acme.cars.catalog;
+
+import com.acme.cars.exception.RecursoNaoEncontradoException;
+import com.acme.cars.model.Carro;
+import com.acme.cars.service.CarroService;
+import com.acme.cars.service.InterfaceCarroService;
+import com.acme.cars.specification.CarroSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+  Implementação de InterfaceCarroService que atende as leituras pelo CarroColumnarCatalog.
+  As escritas continuam indo para o banco via CarroService, que publica os eventos que mantêm o catálogo atualizado.
+*/
+@Service
+@Primary
+@ConditionalOnProperty(name = "cars.catalog.columnar.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ColumnarCarroService implements InterfaceCarroService {
+
+    private final CarroService carroService;
+    private final CarroColumnarCatalog catalog;
+
+    @Override
+    public List<Carro> listarTodos(Pageable pageable) {
+        return catalog.listar(pageable);
+    }
+
+    @Override
+    public Carro buscarPorId(Long id) {
+        return catalog.buscarPorId(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Carro não encontrado com id: " + id));
+    }
+
+    @Override
+    public List<Carro> buscarPorIds(List<Long> ids) {
+        return ids.stream().distinct()
+                .map(id -> catalog.buscarPorId(id).orElse(null))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public Carro salvar(Carro carro) {
+        return carroService.salvar(carro);
+    }
+
+    @Override
+    public void deletar(Long id) {
+        carroService.deletar(id);
+    }
+
+    @Override
+    public Carro atualizar(Long id, Carro carroAtualizado) {
+        return carroService.atualizar(id, carroAtualizado);
+    }
+
+    @Override
+    public long count() {
+        return catalog.count();
+    }
+
+    @Override
+    public List<Carro> search(List<CarroSpecification> specifications) {
+        return catalog.search(specifications);
+    }
+}
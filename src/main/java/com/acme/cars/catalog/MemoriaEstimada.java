@@ -0,0 +1,33 @@
+package com.acme.cars.catalog;
+
+/**
+  Estimativas de tamanho de objetos no heap para uma JVM 64 bits com compressed oops.
+  Usadas apenas no relatório de footprint, não precisam ser exatas.
+*/
+final class MemoriaEstimada {
+
+    static final long CABECALHO_OBJETO = 12;
+    static final long CABECALHO_ARRAY = 16;
+    static final long REFERENCIA = 4;
+    static final long LONG = 16;
+    static final long INTEGER = 16;
+    static final long ENTRADA_HASHMAP = 32 + REFERENCIA;
+
+    private MemoriaEstimada() {
+    }
+
+    /** String compacta (LATIN1): objeto String (24 bytes) + byte[] com o conteúdo. */
+    static long string(String valor) {
+        return valor == null ? 0 : 24 + alinhar(CABECALHO_ARRAY + valor.length());
+    }
+
+    /** Entidade Carro: cabeçalho, referência ao id (Long), dois int, quatro referências a String e as próprias strings. */
+    static long carro(String modelo, String cor, String fabricante, String pais) {
+        long objeto = alinhar(CABECALHO_OBJETO + REFERENCIA + 2 * 4 + 4 * REFERENCIA);
+        return objeto + LONG + string(modelo) + string(cor) + string(fabricante) + string(pais);
+    }
+
+    static long alinhar(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
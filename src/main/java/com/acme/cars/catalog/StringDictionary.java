@@ -0,0 +1,46 @@
+package com.acme.cars.catalog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+  Dicionário de strings para colunas de baixa cardinalidade (fabricante, país, cor, modelo).
+  Cada valor distinto é guardado uma única vez e as linhas armazenam apenas o código int.
+  Não é thread-safe: o acesso é protegido pelo lock de CarroColumnarCatalog.
+*/
+class StringDictionary {
+
+    static final int NULO = -1;
+
+    private final Map<String, Integer> codigos = new HashMap<>();
+    private final List<String> valores = new ArrayList<>();
+
+    int codificar(String valor) {
+        if (valor == null) {
+            return NULO;
+        }
+        return codigos.computeIfAbsent(valor, v -> {
+            valores.add(v);
+            return valores.size() - 1;
+        });
+    }
+
+    String decodificar(int codigo) {
+        return codigo == NULO ? null : valores.get(codigo);
+    }
+
+    int tamanho() {
+        return valores.size();
+    }
+
+    /** Estimativa em bytes dos valores distintos mais o mapa de códigos. */
+    long bytesEstimados() {
+        long bytes = 0;
+        for (String valor : valores) {
+            bytes += MemoriaEstimada.string(valor) + MemoriaEstimada.ENTRADA_HASHMAP + MemoriaEstimada.INTEGER;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,29 @@
+package com.acme.cars.config;
+
+import com.acme.cars.serialization.ProtobufCodec;
+import com.acme.cars.serialization.ProtobufJacksonHttpMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+  Formatos binários escolhidos pelo cabeçalho Accept, além do JSON padrão.
+  application/cbor é atendido pelo conversor CBOR do próprio Spring (basta o jackson-dataformat-cbor no classpath);
+  application/x-protobuf é registrado aqui, no fim da lista para que o JSON continue sendo o formato padrão.
+*/
+@Configuration
+public class BinaryFormatConfig implements WebMvcConfigurer {
+
+    @Bean
+    public ProtobufCodec protobufCodec() {
+        return new ProtobufCodec();
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ProtobufJacksonHttpMessageConverter(protobufCodec()));
+    }
+}
@@ -0,0 +1,30 @@
+package com.acme.cars.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/** Configuração dos executores usados para paralelizar consultas. */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+      Executor limitado para as buscas do multi-search.
+      Quando a fila enche, a própria thread da requisição executa a busca (CallerRunsPolicy),
+      evitando que rajadas criem threads ou filas sem limite.
+      Não é candidato padrão para injeção por tipo, para não substituir o executor da aplicação
+      criado pelo Spring Boot (usado, por exemplo, no processamento assíncrono do Spring MVC).
+    */
+    @Bean(destroyMethod = "shutdown", defaultCandidate = false)
+    public ExecutorService searchExecutor(
+            @Value("${cars.multi-search.threads:4}") int threads,
+            @Value("${cars.multi-search.queue-size:64}") int queueSize) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -0,0 +1,50 @@
+package com.acme.cars.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+  Carga dos dados iniciais a partir do snapshot em resources/seed (CSV), em vez de reexecutar o data.sql.
+  Cada tabela é preenchida com um único INSERT ... SELECT sobre o CSVREAD do H2, e apenas se estiver vazia.
+  Roda na criação do bean, depois que o Hibernate criou o schema e antes dos SmartInitializingSingleton
+  (catálogo colunar, shards, estatísticas) lerem os carros.
+  Os CSVs foram gerados a partir do data.sql com CSVWRITE; ao alterar o data.sql, gere-os novamente.
+*/
+@Component
+@ConditionalOnProperty(name = "cars.seed.snapshot.enabled", havingValue = "true")
+@Slf4j
+public class SeedSnapshotLoader implements InitializingBean {
+
+    // Colunas na mesma ordem dos INSERT do data.sql; os IDs são gerados pelo IDENTITY, na ordem do arquivo.
+    private static final Map<String, String> TABELAS = Map.of(
+            "carro", "modelo, ano, cor, cavalos_de_potencia, fabricante, pais",
+            "usuario", "nome, cargo, email, avatar, password");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** O EntityManagerFactory é recebido apenas para garantir que o schema (ddl-auto) já existe. */
+    public SeedSnapshotLoader(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        TABELAS.forEach((tabela, colunas) -> {
+            Long linhas = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + tabela, Long.class);
+            if (linhas != null && linhas > 0) {
+                log.info("Tabela {} já possui {} linhas; snapshot ignorado", tabela, linhas);
+                return;
+            }
+            int carregadas = jdbcTemplate.update("INSERT INTO " + tabela + " (" + colunas + ") SELECT " + colunas
+                    + " FROM CSVREAD('classpath:seed/" + tabela + ".csv', NULL, 'charset=UTF-8')");
+            log.info("{} linhas carregadas do snapshot em {}", carregadas, tabela);
+        });
+    }
+}
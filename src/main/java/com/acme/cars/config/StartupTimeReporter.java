@@ -0,0 +1,60 @@
+package com.acme.cars.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+  Mede o tempo desde o início da JVM até a aplicação ficar pronta e até a primeira requisição ser atendida,
+  informando se a inicialização usou o código gerado pelo AOT e um arquivo CDS.
+  O tempo até a primeira requisição também fica na métrica cars.startup.time-to-first-request.
+*/
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StartupTimeReporter {
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean primeiraRequisicao = new AtomicBoolean();
+
+    @EventListener
+    public void aoFicarPronta(ApplicationReadyEvent evento) {
+        log.atInfo()
+                .addKeyValue("jvmUptimeMs", uptimeMs())
+                .addKeyValue("aot", AotDetector.useGeneratedArtifacts())
+                .addKeyValue("cds", usaArquivoCds())
+                .log("Aplicação pronta em {} ms desde o início da JVM", uptimeMs());
+    }
+
+    @EventListener
+    public void aoAtenderRequisicao(ServletRequestHandledEvent evento) {
+        if (primeiraRequisicao.get() || !primeiraRequisicao.compareAndSet(false, true)) {
+            return;
+        }
+        long tempoMs = uptimeMs();
+        TimeGauge.builder("cars.startup.time-to-first-request", () -> tempoMs, TimeUnit.MILLISECONDS).register(meterRegistry);
+        log.atInfo()
+                .addKeyValue("timeToFirstRequestMs", tempoMs)
+                .addKeyValue("path", evento.getRequestUrl())
+                .log("Primeira requisição atendida {} ms após o início da JVM", tempoMs);
+    }
+
+    private static long uptimeMs() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
+    private static boolean usaArquivoCds() {
+        return ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .anyMatch(argumento -> argumento.startsWith("-XX:SharedArchiveFile"));
+    }
+}
@@ -1,23 +1,27 @@
 package com.acme.cars.controller;
 
 import com.acme.cars.exception.RecursoNaoEncontradoException;
+import com.acme.cars.logging.LogAmostrado;
 import com.acme.cars.model.Carro;
 import com.acme.cars.payload.CriteriaRequest;
+import com.acme.cars.payload.MultiSearchResultPayload;
+import com.acme.cars.service.ChangeFeedService;
 import com.acme.cars.service.InterfaceCarroService;
 import com.acme.cars.service.CsvService;
-import com.acme.cars.specification.*;
+import com.acme.cars.service.MultiSearchService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.io.File;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,8 +35,17 @@ import java.util.Optional;
 @CrossOrigin(origins = "*")
 @Slf4j
 public class CarroController {
+    // Listagem e multi-search são chamados a cada tela; apenas uma amostra dessas requisições é registrada.
+    private static final LogAmostrado AMOSTRA_LISTAGEM = LogAmostrado.aCada(100);
+    private static final LogAmostrado AMOSTRA_MULTI_SEARCH = LogAmostrado.aCada(100);
+    // Limites por requisição: acima deles, uma única chamada ocuparia o executor de buscas ou geraria um IN enorme.
+    private static final int MAX_CRITERIOS = 50;
+    private static final int MAX_IDS = 1000;
+
     private final InterfaceCarroService carroService;
     private final CsvService csvService;
+    private final MultiSearchService multiSearchService;
+    private final ChangeFeedService changeFeedService;
 
     /**
       Realiza uma busca de carros com base em critérios fornecidos nos cabeçalhos da requisição.
@@ -52,21 +65,64 @@ public class CarroController {
             @RequestHeader(value = "cor", required = false) Optional<String> cor,
             @RequestHeader(value = "ano", required = false) Optional<Integer> ano) {
 
-        List<CarroSpecification> specifications = new ArrayList<>();
-
-        // Adiciona especificações à lista apenas se o critério estiver presente.
-        // Nomes significativos para os parâmetros e variáveis.
-        // Evitando Ifs aninhados.
-        modelo.ifPresent(m -> specifications.add(new CarroModeloSpecification(m)));
-        fabricante.ifPresent(f -> specifications.add(new CarroFabricanteSpecification(f)));
-        pais.ifPresent(p -> specifications.add(new CarroPaisSpecification(p)));
-        cor.ifPresent(c -> specifications.add(new CarroCorSpecification(c)));
-        ano.ifPresent(a -> specifications.add(new CarroAnoSpecification(a)));
+        CriteriaRequest criterios = CriteriaRequest.builder()
+                .modelo(modelo).fabricante(fabricante).pais(pais).cor(cor).ano(ano)
+                .build();
 
-        List<Carro> searchResult = carroService.search(specifications); // Chamada ao metodo search com especificações
+        List<Carro> searchResult = carroService.search(criterios.toSpecifications()); // Chamada ao metodo search com especificações
         return ResponseEntity.ok(searchResult);
     }
 
+    /**
+      Executa várias buscas em uma única requisição, em paralelo.
+      Cada item do corpo segue os mesmos critérios aceitos pelo endpoint /search.
+      Aceita de 1 a MAX_CRITERIOS critérios; fora disso responde 400.
+      return ResponseEntity contendo um resultado por critério, com o tempo de cada busca.
+    */
+    @PostMapping("/multi-search")
+    public ResponseEntity<List<MultiSearchResultPayload>> multiSearch(@RequestBody List<CriteriaRequest> criterios) {
+        if (criterios.isEmpty() || criterios.size() > MAX_CRITERIOS) {
+            log.warn("Multi-search rejeitado com {} critérios (máximo {})", criterios.size(), MAX_CRITERIOS);
+            return ResponseEntity.badRequest().build();
+        }
+        AMOSTRA_MULTI_SEARCH.atInfo(log).addKeyValue("criterios", criterios.size()).log("Requisição de multi-search");
+        return ResponseEntity.ok(multiSearchService.searchAll(criterios));
+    }
+
+    /**
+      Assina o feed de alterações de carros (Server-Sent Events), em substituição a refazer a listagem completa.
+      Os critérios são os mesmos do /search, mas em parâmetros de query, já que o EventSource do navegador
+      não envia cabeçalhos customizados. O Last-Event-ID é enviado pelo próprio EventSource ao reconectar.
+      return SseEmitter com um evento CRIADO, ATUALIZADO ou REMOVIDO por escrita que case com os critérios.
+    */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(
+            @RequestParam(value = "modelo", required = false) Optional<String> modelo,
+            @RequestParam(value = "fabricante", required = false) Optional<String> fabricante,
+            @RequestParam(value = "pais", required = false) Optional<String> pais,
+            @RequestParam(value = "cor", required = false) Optional<String> cor,
+            @RequestParam(value = "ano", required = false) Optional<Integer> ano,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long ultimoEventoId) {
+        CriteriaRequest criterios = CriteriaRequest.builder()
+                .modelo(modelo).fabricante(fabricante).pais(pais).cor(cor).ano(ano)
+                .build();
+        return changeFeedService.assinar(criterios.toSpecifications(), ultimoEventoId);
+    }
+
+    /**
+      Busca vários carros pelos IDs em uma única consulta ao banco.
+      ids Lista de IDs separados por vírgula (ex: /batch?ids=1,2,3), com no máximo MAX_IDS itens; fora disso responde 400.
+      return ResponseEntity contendo os carros encontrados, na ordem dos IDs informados.
+    */
+    @GetMapping("/batch")
+    public ResponseEntity<List<Carro>> buscarPorIds(@RequestParam List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_IDS) {
+            log.warn("Busca em lote rejeitada com {} IDs (máximo {})", ids.size(), MAX_IDS);
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(carroService.buscarPorIds(ids));
+    }
+
     /**
       Lista todos os carros com suporte a paginação.
       page Número da página (padrão: 0).
@@ -78,7 +134,7 @@ public class CarroController {
     public ResponseEntity<List<Carro>> listarTodos(
             @RequestHeader(value = "page", defaultValue = "0") int page,
             @RequestHeader(value = "size", defaultValue = "99999") int size) {
-        log.info("Requisição para listar carros - Página: {}, Tamanho: {}", page, size);
+        AMOSTRA_LISTAGEM.atInfo(log).addKeyValue("page", page).addKeyValue("size", size).log("Requisição para listar carros");
 
         HttpHeaders headers = new HttpHeaders();
         headers.add("Total-Count", String.valueOf(carroService.count())); // Adiciona o total de registros no cabeçalho
@@ -105,7 +161,7 @@ public class CarroController {
     @PostMapping
     public ResponseEntity<Carro> salvar(@RequestBody Carro carro) {
         Carro carroSalvo = carroService.salvar(carro);
-        log.info("Carro salvo com ID: {}", carroSalvo.getId());
+        log.atInfo().addKeyValue("carroId", carroSalvo.getId()).log("Carro salvo");
         return ResponseEntity.status(HttpStatus.CREATED).body(carroSalvo);
     }
 
@@ -114,7 +170,7 @@ public class CarroController {
     public ResponseEntity<Carro> atualizar(@PathVariable Long id, @RequestBody Carro carroAtualizado) {
         try {
             Carro carro = carroService.atualizar(id, carroAtualizado);
-            log.info("Carro com ID {} atualizado.", id);
+            log.atInfo().addKeyValue("carroId", id).log("Carro atualizado");
             return ResponseEntity.ok(carro);
         } catch (RecursoNaoEncontradoException e) {
             log.warn("Tentativa de atualizar carro com ID {} falhou: {}", id, e.getMessage());
@@ -127,7 +183,7 @@ public class CarroController {
     public ResponseEntity<Void> deletar(@PathVariable Long id) {
         try {
             carroService.deletar(id);
-            log.info("Carro com ID {} deletado.", id);
+            log.atInfo().addKeyValue("carroId", id).log("Carro deletado");
             return ResponseEntity.noContent().build();
         } catch (RecursoNaoEncontradoException e) {
             log.warn("Tentativa de deletar carro com ID {} falhou: {}", id, e.getMessage());
@@ -0,0 +1,27 @@
+package com.acme.cars.controller;
+
+import com.acme.cars.catalog.CarroColumnarCatalog;
+import com.acme.cars.payload.CatalogFootprintPayload;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Expõe informações do catálogo colunar, disponível apenas com cars.catalog.columnar.enabled=true. */
+@RestController
+@RequestMapping("/api/carros/catalog")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@ConditionalOnProperty(name = "cars.catalog.columnar.enabled", havingValue = "true")
+public class CatalogController {
+
+    private final CarroColumnarCatalog catalog;
+
+    @GetMapping("/footprint")
+    public ResponseEntity<CatalogFootprintPayload> footprint() {
+        return ResponseEntity.ok(catalog.footprint());
+    }
+}
@@ -0,0 +1,35 @@
+package com.acme.cars.controller;
+
+import com.acme.cars.payload.EstatisticasPayload;
+import com.acme.cars.payload.VerificacaoEstatisticasPayload;
+import com.acme.cars.service.EstatisticasService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/** Controlador REST das estatísticas materializadas do catálogo de carros. */
+@RestController
+@RequestMapping("/api/carros/estatisticas")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Slf4j
+public class EstatisticasController {
+
+    private final EstatisticasService estatisticasService;
+
+    @GetMapping
+    public ResponseEntity<EstatisticasPayload> consultar() {
+        return ResponseEntity.ok(estatisticasService.consultar());
+    }
+
+    /** Recalcula as estatísticas a partir da tabela e compara com as mantidas em memória. */
+    @PostMapping("/verificar")
+    public ResponseEntity<VerificacaoEstatisticasPayload> verificar() {
+        VerificacaoEstatisticasPayload verificacao = estatisticasService.verificar();
+        if (!verificacao.consistente()) {
+            log.warn("Estatísticas divergentes da tabela: {}", verificacao.divergencias());
+        }
+        return ResponseEntity.ok(verificacao);
+    }
+}
@@ -0,0 +1,119 @@
+package com.acme.cars.controller;
+
+import com.acme.cars.model.Carro;
+import com.acme.cars.payload.CriteriaRequest;
+import com.acme.cars.reactive.ReactiveCarroReader;
+import com.acme.cars.serialization.ProtobufCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+  API de leitura reativa de carros, alternativa aos endpoints bloqueantes de CarroController.
+  As respostas são streams NDJSON: cada carro é escrito assim que chega do banco e o próximo só é pedido
+  depois que o anterior foi enviado, então a thread da requisição não fica presa durante a consulta.
+  Com Accept: application/x-protobuf, search e export enviam mensagens Protobuf delimitadas pelo tamanho,
+  também sem prender a thread da requisição (ver streamProtobuf).
+  Indisponível nos modos de sharding e write-behind (ver ReactiveCarroReader).
+*/
+@RestController
+@ConditionalOnExpression(ReactiveCarroReader.LEITURA_DA_TABELA)
+@RequestMapping("/api/reactive/carros")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ReactiveCarroController {
+
+    private static final String PROTOBUF = "application/x-protobuf";
+    private static final int LOTE_STREAMING = 32;
+
+    private final ReactiveCarroReader reactiveCarroReader;
+    private final ProtobufCodec protobufCodec;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Carro> listarTodos(
+            @RequestHeader(value = "page", defaultValue = "0") int page,
+            @RequestHeader(value = "size", defaultValue = "99999") int size) {
+        return reactiveCarroReader.listar(PageRequest.of(page, size));
+    }
+
+    @GetMapping("/count")
+    public Mono<Long> count() {
+        return reactiveCarroReader.count();
+    }
+
+    /** Mesmos cabeçalhos de critério aceitos por /api/carros/search. */
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Carro> search(
+            @RequestHeader(value = "modelo", required = false) Optional<String> modelo,
+            @RequestHeader(value = "fabricante", required = false) Optional<String> fabricante,
+            @RequestHeader(value = "pais", required = false) Optional<String> pais,
+            @RequestHeader(value = "cor", required = false) Optional<String> cor,
+            @RequestHeader(value = "ano", required = false) Optional<Integer> ano) {
+        CriteriaRequest criteria = new CriteriaRequest(modelo, fabricante, pais, cor, ano);
+        return reactiveCarroReader.search(criteria.toSpecifications());
+    }
+
+    @GetMapping(value = "/search", produces = PROTOBUF)
+    public ResponseEntity<ResponseBodyEmitter> searchProtobuf(
+            @RequestHeader(value = "modelo", required = false) Optional<String> modelo,
+            @RequestHeader(value = "fabricante", required = false) Optional<String> fabricante,
+            @RequestHeader(value = "pais", required = false) Optional<String> pais,
+            @RequestHeader(value = "cor", required = false) Optional<String> cor,
+            @RequestHeader(value = "ano", required = false) Optional<Integer> ano) {
+        return streamProtobuf(search(modelo, fabricante, pais, cor, ano));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Carro> exportar() {
+        return reactiveCarroReader.exportar();
+    }
+
+    @GetMapping(value = "/export", produces = PROTOBUF)
+    public ResponseEntity<ResponseBodyEmitter> exportarProtobuf() {
+        return streamProtobuf(reactiveCarroReader.exportar());
+    }
+
+    /**
+      Como o NDJSON, a resposta é assíncrona: o handler apenas assina o Flux e devolve o emitter, liberando a
+      thread da requisição. Os carros são agrupados em lotes de LOTE_STREAMING mensagens, e cada lote é escrito
+      (uma escrita e um flush) numa thread do boundedElastic, para que um cliente lento não segure a thread do
+      driver R2DBC. O próximo lote só é pedido ao banco depois que o anterior foi escrito.
+    */
+    private ResponseEntity<ResponseBodyEmitter> streamProtobuf(Flux<Carro> carros) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        Disposable assinatura = carros
+                .buffer(LOTE_STREAMING)
+                .publishOn(Schedulers.boundedElastic(), 1)
+                .subscribe(lote -> enviar(emitter, lote), emitter::completeWithError, emitter::complete);
+        emitter.onTimeout(assinatura::dispose);
+        emitter.onError(erro -> assinatura.dispose());
+        return ResponseEntity.ok().contentType(ProtobufCodec.APPLICATION_PROTOBUF).body(emitter);
+    }
+
+    private void enviar(ResponseBodyEmitter emitter, List<Carro> lote) {
+        ByteArrayOutputStream mensagens = new ByteArrayOutputStream();
+        try {
+            for (Carro carro : lote) {
+                protobufCodec.escreverDelimitado(carro, mensagens);
+            }
+            emitter.send(mensagens.toByteArray(), ProtobufCodec.APPLICATION_PROTOBUF);
+        } catch (IOException e) {
+            // Cancela a assinatura; o erro chega ao emitter pelo completeWithError.
+            throw Exceptions.propagate(e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.acme.cars.controller;
+
+import com.acme.cars.payload.ReplicaStatusPayload;
+import com.acme.cars.replica.ReplicacaoEstado;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/** Situação das réplicas de leitura, disponível apenas com cars.replica.enabled=true. */
+@RestController
+@RequestMapping("/api/replicas")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@ConditionalOnProperty(name = "cars.replica.enabled", havingValue = "true")
+public class ReplicaController {
+
+    private final ReplicacaoEstado replicacaoEstado;
+
+    @GetMapping
+    public ResponseEntity<List<ReplicaStatusPayload>> status() {
+        return ResponseEntity.ok(replicacaoEstado.status());
+    }
+}
@@ -3,6 +3,7 @@ package com.acme.cars.controller;
 import com.acme.cars.dto.AuthUserDTO;
 import com.acme.cars.exception.AuthenticationException;
 import com.acme.cars.exception.RecursoNaoEncontradoException;
+import com.acme.cars.logging.LogAmostrado;
 import com.acme.cars.model.Usuario;
 import com.acme.cars.payload.AuthPayload;
 import com.acme.cars.service.SecurityService;
@@ -32,6 +33,9 @@ import java.util.Optional;
 @Slf4j
 @CrossOrigin(origins = "*")
 public class UsuarioController {
+    // Listagem e login são os caminhos mais frequentes; apenas uma amostra dessas requisições é registrada.
+    private static final LogAmostrado AMOSTRA_LISTAGEM = LogAmostrado.aCada(100);
+    private static final LogAmostrado AMOSTRA_LOGIN = LogAmostrado.aCada(10);
 
     private final InterfaceUsuarioService usuarioService;
     private final SecurityService securityService;
@@ -47,7 +51,7 @@ public class UsuarioController {
     public ResponseEntity<List<Usuario>> getAllUsuario(
             @RequestHeader(value = "page", defaultValue = "0") int page,
             @RequestHeader(value = "size", defaultValue = "9999") int size) {
-        log.info("Requisição para listar usuários - Página: {}, Tamanho: {}", page, size);
+        AMOSTRA_LISTAGEM.atInfo(log).addKeyValue("page", page).addKeyValue("size", size).log("Requisição para listar usuários");
 
         HttpHeaders headers = new HttpHeaders();
         headers.add("Total-Count", String.valueOf(usuarioService.count())); // Adiciona o total de registros no cabeçalho
@@ -64,7 +68,7 @@ public class UsuarioController {
     public ResponseEntity<?> autenticate(@RequestBody AuthUserDTO authUserDTO){
         try {
             String authenticateToken = securityService.authenticate(authUserDTO);
-            log.info("Usuário {} autenticado com sucesso.", authUserDTO.email());
+            AMOSTRA_LOGIN.atInfo(log).addKeyValue("email", authUserDTO.email()).log("Usuário autenticado com sucesso");
             return ResponseEntity.ok(new AuthPayload(authenticateToken));
         } catch (AuthenticationException ex) {
             log.warn("Falha na autenticação para o email {}: {}", authUserDTO.email(), ex.getMessage());
@@ -76,7 +80,7 @@ public class UsuarioController {
     @PostMapping
     public ResponseEntity<Usuario> salvarUsuario(@RequestBody Usuario usuario){
         Usuario usuarioSalvo = usuarioService.salvar(usuario);
-        log.info("Usuário salvo com ID: {}", usuarioSalvo.getId());
+        log.atInfo().addKeyValue("usuarioId", usuarioSalvo.getId()).log("Usuário salvo");
         return ResponseEntity.status(HttpStatus.CREATED).body(usuarioSalvo);
     }
 
@@ -84,7 +88,7 @@ public class UsuarioController {
     public ResponseEntity<Usuario> atualizarUsuario(@PathVariable Long id, @RequestBody Usuario usuarioAtualizado){
         try {
             Usuario usuario = usuarioService.atualizar(id, usuarioAtualizado);
-            log.info("Usuário com ID {} atualizado.", id);
+            log.atInfo().addKeyValue("usuarioId", id).log("Usuário atualizado");
             return ResponseEntity.ok(usuario);
         } catch (RecursoNaoEncontradoException e) {
             log.warn("Tentativa de atualizar usuário com ID {} falhou: {}", id, e.getMessage());
@@ -96,7 +100,7 @@ public class UsuarioController {
     public ResponseEntity<Void> deletar(@PathVariable Long id) {
         try {
             usuarioService.deletar(id);
-            log.info("Usuário com ID {} deletado.", id);
+            log.atInfo().addKeyValue("usuarioId", id).log("Usuário deletado");
             return ResponseEntity.noContent().build();
         } catch (RecursoNaoEncontradoException e) {
             log.warn("Tentativa de deletar usuário com ID {} falhou: {}", id, e.getMessage());
@@ -0,0 +1,12 @@
+package com.acme.cars.dto;
+
+import com.acme.cars.model.Usuario;
+
+/** Perfil do usuário sem a senha, carregado por projeção (a coluna password nunca é lida). */
+public record UsuarioPerfilDTO(Long id, String email, String nome, String cargo, String avatar) {
+
+    /** Usuario desanexado, com a senha nula, para as respostas que já devolviam a entidade. */
+    public Usuario toUsuario() {
+        return Usuario.builder().id(id).email(email).nome(nome).cargo(cargo).avatar(avatar).build();
+    }
+}
@@ -0,0 +1,323 @@
+package com.acme.cars.durable;
+
+import com.acme.cars.model.Carro;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+  Log de escritas de carros, somente de acréscimo, dividido em segmentos (carros-N.log).
+  Cada registro é gravado como [tamanho][CRC32][conteúdo]; na leitura, um registro incompleto, com tamanho
+  impossível ou com CRC divergente (escrita interrompida por queda, disco corrompido) encerra o segmento.
+  O fsync é feito em grupo: quem chama sincronizar(posicao) força o disco para todos os registros
+  escritos até ali, então escritas concorrentes compartilham o mesmo fsync.
+  Um segmento novo é aberto a cada descarga para as tabelas; os anteriores são apagados depois dela.
+  Os locks são ReentrantLock, e não monitores, porque as escritas vêm de virtual threads: esperar por um
+  monitor durante o fsync prenderia a carrier thread de cada escritor na fila.
+*/
+@Slf4j
+class CarroWriteLog implements Closeable {
+
+    private static final String PREFIXO = "carros-";
+    private static final String SUFIXO = ".log";
+    private static final byte GRAVAR = 0;
+    private static final byte REMOVER = 1;
+    private static final int CABECALHO = 8;
+    // Maior conteúdo possível: operação, id, ano, potência e quatro textos (marcador + writeUTF de até 65535 bytes).
+    static final int TAMANHO_MAXIMO = 1 + 8 + 4 + 4 + 4 * (1 + 2 + 0xFFFF);
+
+    private final Path diretorio;
+    // Ordem dos locks: lockSincronizacao antes de lockEscrita.
+    private final ReentrantLock lockSincronizacao = new ReentrantLock();
+    private final ReentrantLock lockEscrita = new ReentrantLock();
+
+    private FileChannel canal;
+    private long segmentoAtual;
+    private long escrito;
+    private long sincronizado;
+
+    CarroWriteLog(Path diretorio) {
+        this.diretorio = diretorio;
+        try {
+            Files.createDirectories(diretorio);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível criar o diretório do log em " + diretorio, e);
+        }
+    }
+
+    /** Segmentos existentes, do mais antigo para o mais novo. */
+    List<Path> segmentos() {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(arquivo -> arquivo.getFileName().toString().matches(PREFIXO + "\\d+" + SUFIXO))
+                    .sorted(Comparator.comparingLong(CarroWriteLog::indice))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+      Lê os registros válidos de um segmento, parando no primeiro incompleto ou corrompido.
+      O tamanho é validado antes de alocar o conteúdo: um prefixo corrompido (negativo, acima do maior registro
+      possível ou além do fim do arquivo) é tratado como corrupção, e não como um pedido de alocação.
+    */
+    static List<RegistroLog> ler(Path segmento) {
+        List<RegistroLog> registros = new ArrayList<>();
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(segmento)))) {
+            long restante = Files.size(segmento);
+            while (true) {
+                int tamanho;
+                try {
+                    tamanho = entrada.readInt();
+                } catch (EOFException fim) {
+                    break;
+                }
+                long crcEsperado = entrada.readInt() & 0xFFFFFFFFL;
+                restante -= CABECALHO;
+                if (tamanho <= 0 || tamanho > TAMANHO_MAXIMO) {
+                    log.warn("Registro com tamanho inválido ({}) em {}; {} registros válidos lidos", tamanho, segmento, registros.size());
+                    break;
+                }
+                if (tamanho > restante) {
+                    throw new EOFException();
+                }
+                restante -= tamanho;
+                byte[] conteudo = new byte[tamanho];
+                entrada.readFully(conteudo);
+                CRC32 crc = new CRC32();
+                crc.update(conteudo);
+                if (crc.getValue() != crcEsperado) {
+                    log.warn("Registro com CRC inválido em {}; {} registros válidos lidos", segmento, registros.size());
+                    break;
+                }
+                registros.add(decodificar(conteudo));
+            }
+        } catch (EOFException e) {
+            log.warn("Registro incompleto no fim de {}; {} registros válidos lidos", segmento, registros.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return registros;
+    }
+
+    /** Abre um segmento novo, depois de todos os existentes. */
+    void abrir() {
+        lockEscrita.lock();
+        try {
+            List<Path> existentes = segmentos();
+            segmentoAtual = existentes.isEmpty() ? 0 : indice(existentes.getLast()) + 1;
+            canal = abrirCanal(segmentoAtual);
+        } finally {
+            lockEscrita.unlock();
+        }
+    }
+
+    /**
+      Acrescenta o registro e executa 'aposEscrever' ainda sob o lock do log, para que nenhuma rotação
+      aconteça entre as duas coisas. Retorna a posição a ser passada para sincronizar().
+    */
+    long anexar(RegistroLog registro, Runnable aposEscrever) {
+        byte[] conteudo = codificar(registro);
+        CRC32 crc = new CRC32();
+        crc.update(conteudo);
+        ByteBuffer buffer = ByteBuffer.allocate(CABECALHO + conteudo.length)
+                .putInt(conteudo.length)
+                .putInt((int) crc.getValue())
+                .put(conteudo)
+                .flip();
+        lockEscrita.lock();
+        try {
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+            escrito += buffer.limit();
+            aposEscrever.run();
+            return escrito;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar no log de escritas", e);
+        } finally {
+            lockEscrita.unlock();
+        }
+    }
+
+    /** Garante que tudo o que foi escrito até 'posicao' está em disco. */
+    void sincronizar(long posicao) {
+        lockSincronizacao.lock();
+        try {
+            if (sincronizado >= posicao) {
+                return;
+            }
+            long alvo;
+            FileChannel atual;
+            lockEscrita.lock();
+            try {
+                alvo = escrito;
+                atual = canal;
+            } finally {
+                lockEscrita.unlock();
+            }
+            forcar(atual);
+            sincronizado = alvo;
+        } finally {
+            lockSincronizacao.unlock();
+        }
+    }
+
+    /**
+      Fecha o segmento atual e abre o próximo. 'naTroca' roda sem nenhuma escrita concorrente,
+      de forma que tudo o que ela observar está nos segmentos anteriores ao retornado.
+      Retorna o índice do novo segmento.
+    */
+    long rotacionar(Runnable naTroca) {
+        lockSincronizacao.lock();
+        lockEscrita.lock();
+        try {
+            forcar(canal);
+            fecharCanal();
+            sincronizado = escrito;
+            segmentoAtual++;
+            canal = abrirCanal(segmentoAtual);
+            naTroca.run();
+            return segmentoAtual;
+        } finally {
+            lockEscrita.unlock();
+            lockSincronizacao.unlock();
+        }
+    }
+
+    /** Apaga os segmentos anteriores a 'segmento', cujos registros já estão nas tabelas. */
+    void apagarAnteriores(long segmento) {
+        for (Path arquivo : segmentos()) {
+            if (indice(arquivo) < segmento) {
+                try {
+                    Files.deleteIfExists(arquivo);
+                } catch (IOException e) {
+                    log.warn("Não foi possível apagar o segmento {}: {}", arquivo, e.getMessage());
+                }
+            }
+        }
+    }
+
+    long segmentoAtual() {
+        lockEscrita.lock();
+        try {
+            return segmentoAtual;
+        } finally {
+            lockEscrita.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lockSincronizacao.lock();
+        lockEscrita.lock();
+        try {
+            if (canal != null) {
+                forcar(canal);
+                fecharCanal();
+            }
+        } finally {
+            lockEscrita.unlock();
+            lockSincronizacao.unlock();
+        }
+    }
+
+    private FileChannel abrirCanal(long segmento) {
+        try {
+            return FileChannel.open(diretorio.resolve(PREFIXO + segmento + SUFIXO),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o segmento " + segmento + " do log", e);
+        }
+    }
+
+    private void fecharCanal() {
+        try {
+            canal.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** force(true) também grava os metadados, incluindo o novo tamanho do arquivo. */
+    private static void forcar(FileChannel canal) {
+        try {
+            canal.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha no fsync do log de escritas", e);
+        }
+    }
+
+    private static long indice(Path segmento) {
+        String nome = segmento.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length()));
+    }
+
+    private static byte[] codificar(RegistroLog registro) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            saida.writeByte(registro.remocao() ? REMOVER : GRAVAR);
+            saida.writeLong(registro.id());
+            if (!registro.remocao()) {
+                Carro carro = registro.carro();
+                saida.writeInt(carro.getAno());
+                saida.writeInt(carro.getCavalosDePotencia());
+                escreverTexto(saida, carro.getModelo());
+                escreverTexto(saida, carro.getCor());
+                escreverTexto(saida, carro.getFabricante());
+                escreverTexto(saida, carro.getPais());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static RegistroLog decodificar(byte[] conteudo) throws IOException {
+        DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(conteudo));
+        byte operacao = entrada.readByte();
+        long id = entrada.readLong();
+        if (operacao == REMOVER) {
+            return new RegistroLog(id, null);
+        }
+        return new RegistroLog(id, Carro.builder()
+                .id(id)
+                .ano(entrada.readInt())
+                .cavalosDePotencia(entrada.readInt())
+                .modelo(lerTexto(entrada))
+                .cor(lerTexto(entrada))
+                .fabricante(lerTexto(entrada))
+                .pais(lerTexto(entrada))
+                .build());
+    }
+
+    private static void escreverTexto(DataOutputStream saida, String texto) throws IOException {
+        saida.writeBoolean(texto != null);
+        if (texto != null) {
+            saida.writeUTF(texto);
+        }
+    }
+
+    private static String lerTexto(DataInputStream entrada) throws IOException {
+        return entrada.readBoolean() ? entrada.readUTF() : null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.acme.cars.durable;
+
+import com.acme.cars.model.Carro;
+
+/** Uma escrita de carro no log: 'carro' é o estado gravado, ou null quando o carro foi removido. */
+record RegistroLog(long id, Carro carro) {
+
+    boolean remocao() {
+        return carro == null;
+    }
+}
@@ -0,0 +1,366 @@
+package com.acme.cars.durable;
+
+import com.acme.cars.config.SeedSnapshotLoader;
+import com.acme.cars.event.CarroEvento;
+import com.acme.cars.exception.RecursoNaoEncontradoException;
+import com.acme.cars.model.Carro;
+import com.acme.cars.service.CarroService;
+import com.acme.cars.service.InterfaceCarroService;
+import com.acme.cars.specification.CarroSpecification;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+  Implementação de InterfaceCarroService com escrita adiada (write-behind) para o modo de armazenamento durável.
+  Cada escrita é confirmada assim que chega ao CarroWriteLog em disco (com fsync); uma thread dedicada
+  descarrega as escritas pendentes para a tabela em lotes, cada lote numa única transação.
+  Até lá, as leituras vêm do CarroService sobrepostas pelas escritas pendentes, então a aplicação já enxerga
+  a escrita confirmada. Na subida, os segmentos do log que não chegaram à tabela (queda) são reaplicados.
+  Os IDs são gerados aqui, a partir do maior ID da tabela e do log, como em ShardedCarroService.
+  Não funciona com réplicas de leitura: a descarga grava direto na tabela, sem eventos, e o Replicador
+  só copia a linha quando recebe o CarroEvento, publicado antes de ela chegar à tabela.
+*/
+@Service
+@Primary
+@ConditionalOnProperty(name = "cars.write-behind.enabled", havingValue = "true")
+@Slf4j
+public class WriteBehindCarroService implements InterfaceCarroService, InitializingBean, DisposableBean {
+
+    private static final Comparator<Carro> POR_ID = Comparator.comparing(Carro::getId);
+    private static final Sort ORDEM_ID = Sort.by("id");
+
+    private final CarroService carroService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CarroWriteLog writeLog;
+    private final Duration intervaloDescarga;
+    private final int tamanhoLote;
+    private final Timer tempoDescarga;
+
+    // Última escrita pendente de cada ID, na ordem do ID; removida quando o lote que a contém é confirmado.
+    private final ConcurrentSkipListMap<Long, Pendente> pendentes = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequencia = new AtomicLong();
+    private final AtomicBoolean descargaSolicitada = new AtomicBoolean();
+    // Serializam atualizar/deletar do mesmo ID; ReentrantLock porque o fsync é feito com o lock seguro (virtual threads).
+    private final ReentrantLock[] locksPorId = Stream.generate(ReentrantLock::new).limit(64).toArray(ReentrantLock[]::new);
+    private final ScheduledExecutorService descarregador = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("write-behind").daemon().factory());
+
+    /**
+      O SeedSnapshotLoader (presente só quando o snapshot está ligado) é recebido apenas para que os dados
+      iniciais, se a tabela estiver vazia, sejam carregados antes da reaplicação do log.
+    */
+    public WriteBehindCarroService(CarroService carroService, DataSource dataSource,
+                                   PlatformTransactionManager transactionManager,
+                                   ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+                                   Optional<SeedSnapshotLoader> seedSnapshotLoader,
+                                   @Value("${cars.replica.enabled:false}") boolean replicasLigadas,
+                                   @Value("${cars.write-behind.log-dir:./data/wal}") Path diretorioLog,
+                                   @Value("${cars.write-behind.flush-interval:200ms}") Duration intervaloDescarga,
+                                   @Value("${cars.write-behind.batch-size:500}") int tamanhoLote) {
+        if (replicasLigadas) {
+            throw new IllegalStateException("cars.write-behind.enabled não pode ser combinado com cars.replica.enabled");
+        }
+        this.carroService = carroService;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.writeLog = new CarroWriteLog(diretorioLog);
+        this.intervaloDescarga = intervaloDescarga;
+        this.tamanhoLote = tamanhoLote;
+
+        Gauge.builder("cars.write-behind.queue-depth", pendentes, Map::size).register(meterRegistry);
+        this.tempoDescarga = Timer.builder("cars.write-behind.flush").register(meterRegistry);
+    }
+
+    /**
+      Recuperação: reaplica na tabela os registros de todos os segmentos existentes (MERGE e DELETE são idempotentes,
+      então reaplicar o que já tinha sido descarregado não altera nada) e só depois apaga esses segmentos.
+    */
+    @Override
+    public void afterPropertiesSet() {
+        List<Path> segmentos = writeLog.segmentos();
+        Map<Long, RegistroLog> ultimos = new LinkedHashMap<>();
+        segmentos.stream().flatMap(segmento -> CarroWriteLog.ler(segmento).stream())
+                .forEach(registro -> ultimos.put(registro.id(), registro));
+        writeLog.abrir();
+        if (!ultimos.isEmpty()) {
+            List<RegistroLog> registros = List.copyOf(ultimos.values());
+            transactionTemplate.executeWithoutResult(status -> aplicar(registros));
+            log.info("{} escritas reaplicadas a partir de {} segmentos do log", registros.size(), segmentos.size());
+        }
+        writeLog.apagarAnteriores(writeLog.segmentoAtual());
+
+        long maiorIdLog = ultimos.keySet().stream().mapToLong(Long::longValue).max().orElse(0);
+        sequencia.set(Math.max(maiorIdTabela(), maiorIdLog));
+        reiniciarIdentity();
+
+        descarregador.scheduleWithFixedDelay(this::descarregar,
+                intervaloDescarga.toMillis(), intervaloDescarga.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        descarregador.shutdown();
+        descarregador.awaitTermination(10, TimeUnit.SECONDS);
+        descarregar();
+        reiniciarIdentity();
+        writeLog.close();
+    }
+
+    @Override
+    public Carro salvar(Carro carro) {
+        carro.setId(sequencia.incrementAndGet());
+        gravar(carro, false);
+        eventPublisher.publishEvent(CarroEvento.criado(carro.toBuilder().build()));
+        return carro;
+    }
+
+    /**
+      Leitura, escrita e evento sob o lock do ID, como o findByIdParaEscrita do CarroService: um atualizar
+      concorrente com um deletar não recria o carro nem publica ATUALIZADO depois do REMOVIDO.
+    */
+    @Override
+    public Carro atualizar(Long id, Carro carroAtualizado) {
+        ReentrantLock lock = lockDo(id);
+        lock.lock();
+        try {
+            Carro anterior = buscarPorId(id);
+            carroAtualizado.setId(id); // Garante que o ID do carro a ser atualizado seja o do path.
+            gravar(carroAtualizado, estaNaTabela(id));
+            eventPublisher.publishEvent(CarroEvento.atualizado(anterior, carroAtualizado.toBuilder().build()));
+            return carroAtualizado;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void deletar(Long id) {
+        ReentrantLock lock = lockDo(id);
+        lock.lock();
+        try {
+            Carro carro = buscarPorId(id);
+            registrar(id, new Pendente(null, estaNaTabela(id)));
+            eventPublisher.publishEvent(CarroEvento.removido(carro));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Carro buscarPorId(Long id) {
+        Pendente pendente = pendentes.get(id);
+        if (pendente == null) {
+            return carroService.buscarPorId(id);
+        }
+        if (pendente.removido()) {
+            throw new RecursoNaoEncontradoException("Carro não encontrado com id: " + id);
+        }
+        return pendente.carro().toBuilder().build();
+    }
+
+    @Override
+    public List<Carro> buscarPorIds(List<Long> ids) {
+        Map<Long, Carro> carrosPorId = new LinkedHashMap<>();
+        carroService.buscarPorIds(ids).forEach(carro -> carrosPorId.put(carro.getId(), carro));
+        ids.forEach(id -> {
+            Pendente pendente = pendentes.get(id);
+            if (pendente != null) {
+                carrosPorId.put(id, pendente.carro());
+            }
+        });
+        return ids.stream().distinct().map(carrosPorId::get).filter(Objects::nonNull)
+                .map(carro -> carro.toBuilder().build()).toList();
+    }
+
+    /**
+      A página é sempre montada na ordem do ID. Sem escritas pendentes, vem direto do banco. Com pendentes,
+      busca linhas suficientes para cobrir a página mesmo com remoções pendentes, aplica as escritas e recorta
+      a página; as duas formas devolvem a mesma ordem.
+    */
+    @Override
+    public List<Carro> listarTodos(Pageable pageable) {
+        if (pendentes.isEmpty()) {
+            return carroService.listarTodos(PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), ORDEM_ID));
+        }
+        Map<Long, Pendente> sobreposicao = Map.copyOf(pendentes);
+        long limite = Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize() + sobreposicao.size());
+        List<Carro> carros = sobrepor(carroService.listarTodos(PageRequest.of(0, (int) limite, ORDEM_ID)), sobreposicao, List.of());
+        return carros.stream().skip(pageable.getOffset()).limit(pageable.getPageSize()).toList();
+    }
+
+    @Override
+    public List<Carro> search(List<CarroSpecification> specifications) {
+        if (pendentes.isEmpty()) {
+            return carroService.search(specifications);
+        }
+        return sobrepor(carroService.search(specifications), Map.copyOf(pendentes), specifications);
+    }
+
+    /** Durante uma descarga a contagem pode divergir por alguns instantes, até o lote sair da fila. */
+    @Override
+    public long count() {
+        long ajuste = 0;
+        for (Pendente pendente : pendentes.values()) {
+            if (!pendente.removido() && !pendente.naTabela()) {
+                ajuste++;
+            } else if (pendente.removido() && pendente.naTabela()) {
+                ajuste--;
+            }
+        }
+        return carroService.count() + ajuste;
+    }
+
+    private void gravar(Carro carro, boolean naTabela) {
+        Carro copia = carro.toBuilder().build();
+        registrar(copia.getId(), new Pendente(copia, naTabela));
+    }
+
+    /**
+      Acrescenta a escrita ao log, torna-a visível nas leituras e só retorna depois do fsync.
+      Se o fsync falhar, o cliente recebe o erro e a escrita sai das pendentes (voltando à anterior do mesmo ID,
+      se houver), para que a descarga não grave na tabela algo que não foi confirmado.
+    */
+    private void registrar(Long id, Pendente pendente) {
+        AtomicReference<Pendente> substituida = new AtomicReference<>();
+        long posicao = writeLog.anexar(new RegistroLog(id, pendente.carro()),
+                () -> substituida.set(pendentes.put(id, pendente)));
+        try {
+            writeLog.sincronizar(posicao);
+        } catch (RuntimeException e) {
+            if (substituida.get() == null) {
+                pendentes.remove(id, pendente);
+            } else {
+                pendentes.replace(id, pendente, substituida.get());
+            }
+            throw e;
+        }
+        solicitarDescargaSeLoteCheio();
+    }
+
+    private ReentrantLock lockDo(Long id) {
+        return locksPorId[Math.floorMod(id.hashCode(), locksPorId.length)];
+    }
+
+    /** Um ID está na tabela se não há escrita pendente para ele ou se a pendente é sobre uma linha já existente. */
+    private boolean estaNaTabela(Long id) {
+        Pendente pendente = pendentes.get(id);
+        return pendente == null || pendente.naTabela();
+    }
+
+    private List<Carro> sobrepor(List<Carro> doBanco, Map<Long, Pendente> sobreposicao, List<CarroSpecification> specifications) {
+        List<Carro> carros = new ArrayList<>(doBanco.stream().filter(carro -> !sobreposicao.containsKey(carro.getId())).toList());
+        sobreposicao.values().stream()
+                .filter(pendente -> !pendente.removido())
+                .map(Pendente::carro)
+                .filter(carro -> specifications.stream().allMatch(spec -> spec.matches(carro)))
+                .map(carro -> carro.toBuilder().build())
+                .forEach(carros::add);
+        carros.sort(POR_ID);
+        return carros;
+    }
+
+    private void solicitarDescargaSeLoteCheio() {
+        if (pendentes.size() >= tamanhoLote && descargaSolicitada.compareAndSet(false, true)) {
+            descarregador.execute(this::descarregar);
+        }
+    }
+
+    /**
+      Troca de segmento e copia as pendentes sem escritas concorrentes: tudo o que foi copiado está nos
+      segmentos anteriores, que podem ser apagados quando os lotes forem confirmados. Em caso de falha,
+      as pendentes e os segmentos são mantidos e a próxima descarga tenta de novo.
+    */
+    private void descarregar() {
+        descargaSolicitada.set(false);
+        if (pendentes.isEmpty()) {
+            return;
+        }
+        try {
+            tempoDescarga.record(() -> {
+                List<Map.Entry<Long, Pendente>> copia = new ArrayList<>();
+                long segmento = writeLog.rotacionar(() -> copia.addAll(pendentes.entrySet()));
+                for (int inicio = 0; inicio < copia.size(); inicio += tamanhoLote) {
+                    List<Map.Entry<Long, Pendente>> lote = copia.subList(inicio, Math.min(copia.size(), inicio + tamanhoLote));
+                    transactionTemplate.executeWithoutResult(status -> aplicar(lote.stream()
+                            .map(entrada -> new RegistroLog(entrada.getKey(), entrada.getValue().carro()))
+                            .toList()));
+                    lote.forEach(entrada -> pendentes.remove(entrada.getKey(), entrada.getValue()));
+                }
+                writeLog.apagarAnteriores(segmento);
+            });
+        } catch (RuntimeException e) {
+            log.error("Falha ao descarregar {} escritas pendentes; elas continuam no log e serão reenviadas", pendentes.size(), e);
+        }
+    }
+
+    private void aplicar(List<RegistroLog> registros) {
+        List<Object[]> gravacoes = registros.stream().filter(registro -> !registro.remocao())
+                .map(registro -> {
+                    Carro carro = registro.carro();
+                    return new Object[]{carro.getId(), carro.getModelo(), carro.getAno(), carro.getCor(),
+                            carro.getCavalosDePotencia(), carro.getFabricante(), carro.getPais()};
+                })
+                .toList();
+        List<Object[]> remocoes = registros.stream().filter(RegistroLog::remocao)
+                .map(registro -> new Object[]{registro.id()})
+                .toList();
+        jdbcTemplate.batchUpdate("MERGE INTO carro (id, modelo, ano, cor, cavalos_de_potencia, fabricante, pais) KEY (id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", gravacoes);
+        jdbcTemplate.batchUpdate("DELETE FROM carro WHERE id = ?", remocoes);
+    }
+
+    private long maiorIdTabela() {
+        Long maior = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM carro", Long.class);
+        return maior == null ? 0 : maior;
+    }
+
+    /** Os IDs gravados aqui não avançam o IDENTITY; ele é ajustado para o caso de o modo ser desligado depois. */
+    private void reiniciarIdentity() {
+        jdbcTemplate.execute("ALTER TABLE carro ALTER COLUMN id RESTART WITH " + (Math.max(sequencia.get(), maiorIdTabela()) + 1));
+    }
+
+    /** 'carro' nulo indica remoção; 'naTabela' diz se a linha já existe na tabela (para a contagem). */
+    private record Pendente(Carro carro, boolean naTabela) {
+        boolean removido() {
+            return carro == null;
+        }
+    }
+}
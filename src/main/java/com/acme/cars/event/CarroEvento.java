@@ -0,0 +1,28 @@
+package com.acme.cars.event;
+
+import com.acme.cars.model.Carro;
+
+/**
+  Evento publicado por CarroService a cada escrita de carro.
+  'anterior' é o estado antes da escrita (null em CRIADO) e 'atual' o estado depois dela (null em REMOVIDO),
+  permitindo que os ouvintes apliquem apenas a diferença em vez de recarregar a tabela.
+*/
+public record CarroEvento(TipoEvento tipo, Carro anterior, Carro atual) {
+
+    public static CarroEvento criado(Carro atual) {
+        return new CarroEvento(TipoEvento.CRIADO, null, atual);
+    }
+
+    public static CarroEvento atualizado(Carro anterior, Carro atual) {
+        return new CarroEvento(TipoEvento.ATUALIZADO, anterior, atual);
+    }
+
+    public static CarroEvento removido(Carro anterior) {
+        return new CarroEvento(TipoEvento.REMOVIDO, anterior, null);
+    }
+
+    /** ID do carro afetado, independente do tipo do evento. */
+    public Long carroId() {
+        return atual != null ? atual.getId() : anterior.getId();
+    }
+}
@@ -0,0 +1,4 @@
+package com.acme.cars.event;
+
+/** Tipo de escrita que originou um CarroEvento ou UsuarioEvento. */
+public enum TipoEvento { CRIADO, ATUALIZADO, REMOVIDO }
@@ -0,0 +1,27 @@
+package com.acme.cars.event;
+
+import com.acme.cars.model.Usuario;
+
+/**
+  Evento publicado por UsuarioService a cada escrita de usuário.
+  Segue o mesmo formato de CarroEvento: 'anterior' é null em CRIADO e 'atual' é null em REMOVIDO.
+*/
+public record UsuarioEvento(TipoEvento tipo, Usuario anterior, Usuario atual) {
+
+    public static UsuarioEvento criado(Usuario atual) {
+        return new UsuarioEvento(TipoEvento.CRIADO, null, atual);
+    }
+
+    public static UsuarioEvento atualizado(Usuario anterior, Usuario atual) {
+        return new UsuarioEvento(TipoEvento.ATUALIZADO, anterior, atual);
+    }
+
+    public static UsuarioEvento removido(Usuario anterior) {
+        return new UsuarioEvento(TipoEvento.REMOVIDO, anterior, null);
+    }
+
+    /** ID do usuário afetado, independente do tipo do evento. */
+    public Long usuarioId() {
+        return atual != null ? atual.getId() : anterior.getId();
+    }
+}
@@ -2,5 +2,6 @@ package com.acme.cars.exception;
 
 public class AuthenticationException extends RuntimeException {
     public AuthenticationException(String message) {
+        super(message);
     }
 }
@@ -0,0 +1,71 @@
+package com.acme.cars.limiter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+  Aplica o limite de concorrência às listagens, buscas e exportação de carros antes de chegarem ao serviço.
+  Acima do limite a requisição é recusada na hora com 503 e Retry-After, em vez de esperar no pool de conexões.
+  A exportação CSV tem prioridade BAIXA; as demais rotas registradas, NORMAL.
+*/
+@Slf4j
+class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String INICIO = ConcurrencyLimitInterceptor.class.getName() + ".inicio";
+
+    private final GradientConcurrencyLimiter limiter;
+    private final Duration retryAfter;
+
+    ConcurrencyLimitInterceptor(GradientConcurrencyLimiter limiter, Duration retryAfter) {
+        this.limiter = limiter;
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        Prioridade prioridade = prioridade(request);
+        if (prioridade == null) {
+            return true;
+        }
+        if (!limiter.tentarAdquirir(prioridade)) {
+            log.debug("Requisição {} {} rejeitada: limite de concorrência {} atingido",
+                    request.getMethod(), request.getRequestURI(), limiter.limite());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write("{\"message\":\"Servidor sobrecarregado, tente novamente.\"}");
+            return false;
+        }
+        request.setAttribute(INICIO, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(INICIO) instanceof Long inicio) {
+            request.removeAttribute(INICIO);
+            limiter.liberar(prioridade(request), System.nanoTime() - inicio);
+        }
+    }
+
+    /** As rotas são registradas por path; o método distingue a listagem (GET /api/carros) do cadastro (POST). */
+    private static Prioridade prioridade(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.endsWith("/export-cars")) {
+            return Prioridade.BAIXA;
+        }
+        if (uri.endsWith("/multi-search") || "GET".equals(request.getMethod())) {
+            return Prioridade.NORMAL;
+        }
+        return null;
+    }
+}
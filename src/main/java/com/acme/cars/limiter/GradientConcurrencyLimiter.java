@@ -0,0 +1,114 @@
+package com.acme.cars.limiter;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+  Limite de concorrência adaptativo no estilo "gradient": compara a latência recente com uma média de longo prazo
+  (a latência sem fila) e encolhe o limite quando a recente cresce, isto é, quando as requisições começam a
+  esperar umas pelas outras no pool de conexões. Com a latência estável o limite cresce devagar (+√limite).
+  Requisições de prioridade BAIXA só podem ocupar uma fração do limite, deixando o restante para as demais:
+  elas são contadas à parte contra esse teto, além de contarem no total contra o limite.
+*/
+class GradientConcurrencyLimiter {
+
+    // Média móvel exponencial da latência de longo prazo, equivalente a uma janela de ~600 amostras.
+    private static final double PESO_LONGO_PRAZO = 2.0 / (600 + 1);
+    private static final double SUAVIZACAO = 0.2;
+    private static final double TOLERANCIA = 1.5;
+
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final double fracaoBaixaPrioridade;
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final AtomicInteger baixaEmAndamento = new AtomicInteger();
+    private final Map<Prioridade, LongAdder> rejeicoes = new EnumMap<>(Prioridade.class);
+
+    private volatile double limite;
+    private double latenciaLongoPrazo;
+
+    GradientConcurrencyLimiter(int limiteInicial, int limiteMinimo, int limiteMaximo, double fracaoBaixaPrioridade) {
+        this.limite = limiteInicial;
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.fracaoBaixaPrioridade = fracaoBaixaPrioridade;
+        for (Prioridade prioridade : Prioridade.values()) {
+            rejeicoes.put(prioridade, new LongAdder());
+        }
+    }
+
+    /**
+      Reserva uma vaga, ou devolve false (e conta a rejeição) se o limite total foi atingido ou,
+      para a prioridade BAIXA, se as requisições BAIXA já em andamento ocupam sua fração do limite.
+    */
+    boolean tentarAdquirir(Prioridade prioridade) {
+        boolean baixa = prioridade == Prioridade.BAIXA;
+        if (baixa && !reservar(baixaEmAndamento, Math.max(1, (int) (limite * fracaoBaixaPrioridade)))) {
+            rejeicoes.get(prioridade).increment();
+            return false;
+        }
+        if (!reservar(emAndamento, (int) limite)) {
+            if (baixa) {
+                baixaEmAndamento.decrementAndGet();
+            }
+            rejeicoes.get(prioridade).increment();
+            return false;
+        }
+        return true;
+    }
+
+    /** Libera a vaga obtida com a mesma prioridade e ajusta o limite com a latência observada. */
+    void liberar(Prioridade prioridade, long latenciaNanos) {
+        if (prioridade == Prioridade.BAIXA) {
+            baixaEmAndamento.decrementAndGet();
+        }
+        int emAndamentoAntes = emAndamento.getAndDecrement();
+        ajustar(latenciaNanos, emAndamentoAntes);
+    }
+
+    int limite() {
+        return (int) limite;
+    }
+
+    int emAndamento() {
+        return emAndamento.get();
+    }
+
+    long rejeicoes(Prioridade prioridade) {
+        return rejeicoes.get(prioridade).sum();
+    }
+
+    private static boolean reservar(AtomicInteger contador, int teto) {
+        while (true) {
+            int atual = contador.get();
+            if (atual >= teto) {
+                return false;
+            }
+            if (contador.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private synchronized void ajustar(long latencia, int emAndamentoAntes) {
+        if (latenciaLongoPrazo == 0) {
+            latenciaLongoPrazo = latencia;
+            return;
+        }
+        latenciaLongoPrazo += (latencia - latenciaLongoPrazo) * PESO_LONGO_PRAZO;
+        // Depois de um período de sobrecarga a média de longo prazo fica alta; ela decai para reencontrar a latência sem fila.
+        if (latenciaLongoPrazo / latencia > 2) {
+            latenciaLongoPrazo *= 0.95;
+        }
+        // Com menos da metade do limite em uso a latência não diz nada sobre o limite.
+        if (emAndamentoAntes < limite / 2) {
+            return;
+        }
+        double gradiente = Math.max(0.5, Math.min(1.0, TOLERANCIA * latenciaLongoPrazo / latencia));
+        double novoLimite = limite * gradiente + Math.sqrt(limite);
+        novoLimite = limite * (1 - SUAVIZACAO) + novoLimite * SUAVIZACAO;
+        limite = Math.max(limiteMinimo, Math.min(limiteMaximo, novoLimite));
+    }
+}
@@ -0,0 +1,49 @@
+package com.acme.cars.limiter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+  Registra o limite de concorrência nas rotas que chegam a CarroService.search/listarTodos e CsvService.generate,
+  e expõe o limite atual, as requisições em andamento e as rejeições por prioridade como métricas
+  (cars.limiter.limit, cars.limiter.inflight e cars.limiter.rejected).
+*/
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "cars.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class LimiterConfig implements WebMvcConfigurer {
+
+    private final GradientConcurrencyLimiter limiter;
+    private final Duration retryAfter;
+
+    public LimiterConfig(MeterRegistry meterRegistry,
+                         @Value("${cars.limiter.initial-limit:20}") int limiteInicial,
+                         @Value("${cars.limiter.min-limit:4}") int limiteMinimo,
+                         @Value("${cars.limiter.max-limit:200}") int limiteMaximo,
+                         @Value("${cars.limiter.export-fraction:0.25}") double fracaoExportacao,
+                         @Value("${cars.limiter.retry-after:1s}") Duration retryAfter) {
+        this.limiter = new GradientConcurrencyLimiter(limiteInicial, limiteMinimo, limiteMaximo, fracaoExportacao);
+        this.retryAfter = retryAfter;
+
+        Gauge.builder("cars.limiter.limit", limiter, GradientConcurrencyLimiter::limite).register(meterRegistry);
+        Gauge.builder("cars.limiter.inflight", limiter, GradientConcurrencyLimiter::emAndamento).register(meterRegistry);
+        for (Prioridade prioridade : Prioridade.values()) {
+            FunctionCounter.builder("cars.limiter.rejected", limiter, l -> l.rejeicoes(prioridade))
+                    .tag("prioridade", prioridade.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(limiter, retryAfter))
+                .addPathPatterns("/api/carros", "/api/carros/search", "/api/carros/multi-search", "/api/carros/export-cars");
+    }
+}
@@ -0,0 +1,6 @@
+package com.acme.cars.limiter;
+
+/** Prioridade de uma requisição limitada: sob carga, as de prioridade BAIXA são rejeitadas primeiro. */
+public enum Prioridade {
+    NORMAL, BAIXA
+}
@@ -0,0 +1,38 @@
+package com.acme.cars.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.slf4j.spi.NOPLoggingEventBuilder;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+  Amostragem de logs de caminhos quentes: registra 1 a cada 'taxa' chamadas de um mesmo ponto do código.
+  Os eventos registrados levam o campo 'amostragem' com a taxa, para que contagens feitas a partir
+  dos logs possam ser multiplicadas de volta. Nas chamadas descartadas nada é alocado.
+  Uso: private static final LogAmostrado AMOSTRA = LogAmostrado.aCada(100);
+       AMOSTRA.atInfo(log).addKeyValue("page", page).log("Listagem de carros");
+*/
+public final class LogAmostrado {
+
+    private final int taxa;
+    private final AtomicLong chamadas = new AtomicLong();
+
+    private LogAmostrado(int taxa) {
+        this.taxa = taxa;
+    }
+
+    public static LogAmostrado aCada(int taxa) {
+        if (taxa < 1) {
+            throw new IllegalArgumentException("A taxa de amostragem deve ser maior que zero");
+        }
+        return new LogAmostrado(taxa);
+    }
+
+    public LoggingEventBuilder atInfo(Logger log) {
+        if (!log.isInfoEnabled() || chamadas.getAndIncrement() % taxa != 0) {
+            return NOPLoggingEventBuilder.singleton();
+        }
+        return log.atInfo().addKeyValue("amostragem", taxa);
+    }
+}
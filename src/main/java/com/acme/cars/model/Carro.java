@@ -7,7 +7,7 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "carro")
-@Data@AllArgsConstructor@NoArgsConstructor@Builder
+@Data@AllArgsConstructor@NoArgsConstructor@Builder(toBuilder = true)
 public class Carro {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
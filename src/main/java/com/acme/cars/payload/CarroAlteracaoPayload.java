@@ -0,0 +1,12 @@
+package com.acme.cars.payload;
+
+import com.acme.cars.event.TipoEvento;
+import com.acme.cars.model.Carro;
+
+/**
+  Evento do feed de alterações de carros.
+  'id' é a posição do evento no feed, usada em Last-Event-ID para retomar a assinatura;
+  'carro' é o estado após a escrita, ou o último estado conhecido em REMOVIDO.
+*/
+public record CarroAlteracaoPayload(long id, TipoEvento tipo, Long carroId, Carro carro) {
+}
@@ -0,0 +1,9 @@
+package com.acme.cars.payload;
+
+import com.acme.cars.model.Carro;
+
+import java.util.List;
+
+/** Envelope de uma lista de carros, necessário porque uma mensagem Protobuf não pode ser uma lista na raiz. */
+public record CarroLista(List<Carro> carros) {
+}
@@ -0,0 +1,13 @@
+package com.acme.cars.payload;
+
+import java.util.Map;
+
+/**
+  Relatório de memória do catálogo colunar comparado às mesmas linhas mantidas como entidades Carro.
+  'valoresDistintos' traz a cardinalidade de cada coluna codificada por dicionário.
+*/
+public record CatalogFootprintPayload(int carros,
+                                      long bytesColunar,
+                                      long bytesEntidadesEstimado,
+                                      Map<String, Integer> valoresDistintos) {
+}
@@ -1,16 +1,34 @@
 package com.acme.cars.payload;
 
+import com.acme.cars.specification.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
-@Builder@AllArgsConstructor@Data
+@Builder@AllArgsConstructor@NoArgsConstructor@Data
 public class CriteriaRequest {
-    Optional<String> modelo;
-    Optional<String> fabricante;
-    Optional<String> pais;
-    Optional<String> cor;
-    Optional<Integer> ano;
+    @Builder.Default Optional<String> modelo = Optional.empty();
+    @Builder.Default Optional<String> fabricante = Optional.empty();
+    @Builder.Default Optional<String> pais = Optional.empty();
+    @Builder.Default Optional<String> cor = Optional.empty();
+    @Builder.Default Optional<Integer> ano = Optional.empty();
+
+    /**
+      Converte os critérios presentes na lista de especificações usada por CarroService.search.
+      'return' Lista de CarroSpecification, vazia se nenhum critério for informado.
+    */
+    public List<CarroSpecification> toSpecifications() {
+        List<CarroSpecification> specifications = new ArrayList<>();
+        modelo.ifPresent(m -> specifications.add(new CarroModeloSpecification(m)));
+        fabricante.ifPresent(f -> specifications.add(new CarroFabricanteSpecification(f)));
+        pais.ifPresent(p -> specifications.add(new CarroPaisSpecification(p)));
+        cor.ifPresent(c -> specifications.add(new CarroCorSpecification(c)));
+        ano.ifPresent(a -> specifications.add(new CarroAnoSpecification(a)));
+        return specifications;
+    }
 }
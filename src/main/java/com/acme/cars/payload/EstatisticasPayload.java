@@ -0,0 +1,10 @@
+package com.acme.cars.payload;
+
+import java.util.Map;
+
+/** Estatísticas do catálogo agrupadas por fabricante, país e década do ano. */
+public record EstatisticasPayload(long total,
+                                  Map<String, GrupoEstatisticaPayload> porFabricante,
+                                  Map<String, GrupoEstatisticaPayload> porPais,
+                                  Map<Integer, GrupoEstatisticaPayload> porDecada) {
+}
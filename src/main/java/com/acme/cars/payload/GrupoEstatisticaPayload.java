@@ -0,0 +1,5 @@
+package com.acme.cars.payload;
+
+/** Contagem, média e máximo de cavalosDePotencia de um grupo de carros. */
+public record GrupoEstatisticaPayload(long quantidade, double mediaPotencia, int maxPotencia) {
+}
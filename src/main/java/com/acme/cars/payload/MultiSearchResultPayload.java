@@ -0,0 +1,9 @@
+package com.acme.cars.payload;
+
+import com.acme.cars.model.Carro;
+
+import java.util.List;
+
+/** Resultado de uma das buscas de um multi-search, na mesma posição do critério enviado. */
+public record MultiSearchResultPayload(int indice, long tempoMs, List<Carro> carros) {
+}
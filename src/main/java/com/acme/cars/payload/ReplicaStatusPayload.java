@@ -0,0 +1,5 @@
+package com.acme.cars.payload;
+
+/** Situação de uma réplica de leitura em relação ao primário. */
+public record ReplicaStatusPayload(String replica, long sequenciaPrimario, long sequenciaAplicada, long atrasoMs) {
+}
@@ -0,0 +1,9 @@
+package com.acme.cars.payload;
+
+import com.acme.cars.model.Usuario;
+
+import java.util.List;
+
+/** Envelope de uma lista de usuários, necessário porque uma mensagem Protobuf não pode ser uma lista na raiz. */
+public record UsuarioLista(List<Usuario> usuarios) {
+}
@@ -0,0 +1,7 @@
+package com.acme.cars.payload;
+
+import java.util.List;
+
+/** Resultado da comparação entre as estatísticas incrementais e um recálculo a partir da tabela. */
+public record VerificacaoEstatisticasPayload(boolean consistente, List<String> divergencias, long tempoMs) {
+}
@@ -0,0 +1,107 @@
+package com.acme.cars.reactive;
+
+import com.acme.cars.model.Carro;
+import com.acme.cars.specification.CarroSpecification;
+import com.acme.cars.specification.SqlCriterio;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+  Leitura de carros com driver não bloqueante (R2DBC) sobre o mesmo banco H2 usado pelo JPA.
+  Os resultados são emitidos conforme a demanda do assinante, então um cliente lento desacelera a leitura
+  em vez de acumular linhas em memória.
+  O ConnectionFactory não é registrado como bean para não desligar a autoconfiguração do datasource JDBC.
+  Como lê direto da tabela carro, só existe quando ela é a fonte de verdade: com sharding os carros ficam nos shards,
+  e com write-behind as escritas confirmadas ainda pendentes não estão na tabela.
+*/
+@Component
+@ConditionalOnExpression(ReactiveCarroReader.LEITURA_DA_TABELA)
+public class ReactiveCarroReader implements DisposableBean {
+
+    /** Condição de ativação da API reativa, repetida em ReactiveCarroController. */
+    public static final String LEITURA_DA_TABELA = "!${cars.sharding.enabled:false} and !${cars.write-behind.enabled:false}";
+
+    private static final String SELECT = "SELECT id, modelo, ano, cor, cavalos_de_potencia, fabricante, pais FROM carro";
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+
+    public ReactiveCarroReader(@Value("${cars.reactive.url:r2dbc:h2:mem:///db}") String url,
+                               @Value("${spring.datasource.username}") String username,
+                               @Value("${spring.datasource.password}") String password,
+                               @Value("${cars.reactive.pool-size:10}") int poolSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(poolSize)
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    public Flux<Carro> listar(Pageable pageable) {
+        return databaseClient.sql(SELECT + " ORDER BY id LIMIT :limite OFFSET :offset")
+                .bind("limite", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(ReactiveCarroReader::toCarro)
+                .all();
+    }
+
+    /** Aplica os mesmos critérios do pacote specification, traduzidos por CarroSpecification.toSqlCriterio. */
+    public Flux<Carro> search(List<CarroSpecification> specifications) {
+        List<SqlCriterio> criterios = specifications.stream().map(CarroSpecification::toSqlCriterio).toList();
+        StringBuilder sql = new StringBuilder(SELECT);
+        for (int i = 0; i < criterios.size(); i++) {
+            sql.append(i == 0 ? " WHERE " : " AND ").append(criterios.get(i).renderizar("p" + i));
+        }
+        DatabaseClient.GenericExecuteSpec consulta = databaseClient.sql(sql.append(" ORDER BY id").toString());
+        for (int i = 0; i < criterios.size(); i++) {
+            consulta = consulta.bind("p" + i, criterios.get(i).valor());
+        }
+        return consulta.map(ReactiveCarroReader::toCarro).all();
+    }
+
+    /** Todos os carros, emitidos sob demanda, para exportação em streaming. */
+    public Flux<Carro> exportar() {
+        return databaseClient.sql(SELECT + " ORDER BY id")
+                .map(ReactiveCarroReader::toCarro)
+                .all();
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM carro")
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    private static Carro toCarro(Readable row) {
+        return Carro.builder()
+                .id(row.get("id", Long.class))
+                .modelo(row.get("modelo", String.class))
+                .ano(row.get("ano", Integer.class))
+                .cor(row.get("cor", String.class))
+                .cavalosDePotencia(row.get("cavalos_de_potencia", Integer.class))
+                .fabricante(row.get("fabricante", String.class))
+                .pais(row.get("pais", String.class))
+                .build();
+    }
+}
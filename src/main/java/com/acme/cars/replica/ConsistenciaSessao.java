@@ -0,0 +1,72 @@
+package com.acme.cars.replica;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+  Read-your-writes por sessão: depois de uma escrita, o cliente recebe um cookie com a sequência dela,
+  e as leituras seguintes só usam réplicas que já aplicaram essa sequência.
+  O cookie expira após a janela de aderência; passado esse tempo, as réplicas já terão alcançado o primário.
+*/
+class ConsistenciaSessao {
+
+    static final String COOKIE = "cars-replica-seq";
+    private static final String ATRIBUTO = ConsistenciaSessao.class.getName() + ".sequencia";
+
+    private final Duration janela;
+
+    ConsistenciaSessao(Duration janela) {
+        this.janela = janela;
+    }
+
+    /** Maior sequência exigida pela requisição atual: a do cookie ou a de uma escrita feita nesta mesma requisição. */
+    long sequenciaMinima() {
+        HttpServletRequest request = requestAtual();
+        if (request == null) {
+            return 0;
+        }
+        if (request.getAttribute(ATRIBUTO) instanceof Long sequencia) {
+            return sequencia;
+        }
+        return Arrays.stream(request.getCookies() == null ? new Cookie[0] : request.getCookies())
+                .filter(cookie -> COOKIE.equals(cookie.getName()))
+                .mapToLong(cookie -> parse(cookie.getValue()))
+                .max()
+                .orElse(0);
+    }
+
+    void registrarEscrita(long sequencia) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        attributes.getRequest().setAttribute(ATRIBUTO, sequencia);
+        HttpServletResponse response = attributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE, String.valueOf(sequencia));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) janela.toSeconds());
+            response.addCookie(cookie);
+        }
+    }
+
+    private static HttpServletRequest requestAtual() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest()
+                : null;
+    }
+
+    private static long parse(String valor) {
+        try {
+            return Long.parseLong(valor);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
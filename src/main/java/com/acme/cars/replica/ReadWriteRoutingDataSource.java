@@ -0,0 +1,45 @@
+package com.acme.cars.replica;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+  Envia transações somente leitura para uma réplica e todo o resto para o primário.
+  Precisa ficar atrás de um LazyConnectionDataSourceProxy, para que a conexão seja obtida depois que
+  o gerenciador de transações marcou a transação como readOnly.
+*/
+class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primario;
+    private final ReplicacaoEstado estado;
+    private final ConsistenciaSessao consistencia;
+
+    ReadWriteRoutingDataSource(DataSource primario, ReplicacaoEstado estado, ConsistenciaSessao consistencia) {
+        this.primario = primario;
+        this.estado = estado;
+        this.consistencia = consistencia;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return alvo().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return alvo().getConnection(username, password);
+    }
+
+    private DataSource alvo() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primario;
+        }
+        return estado.escolherReplica(consistencia.sequenciaMinima())
+                .<DataSource>map(Replica::dataSource)
+                .orElse(primario);
+    }
+}
@@ -0,0 +1,42 @@
+package com.acme.cars.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Uma réplica de leitura: o datasource, o JdbcTemplate usado para aplicar as escritas e até onde ela já foi aplicada. */
+class Replica {
+
+    private final String nome;
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    // -1 até a cópia inicial terminar; enquanto isso a réplica não recebe leituras.
+    private final AtomicLong sequenciaAplicada = new AtomicLong(-1);
+
+    Replica(String nome, HikariDataSource dataSource) {
+        this.nome = nome;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    String nome() {
+        return nome;
+    }
+
+    HikariDataSource dataSource() {
+        return dataSource;
+    }
+
+    JdbcTemplate jdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    long sequenciaAplicada() {
+        return sequenciaAplicada.get();
+    }
+
+    void marcarAplicada(long sequencia) {
+        sequenciaAplicada.set(sequencia);
+    }
+}
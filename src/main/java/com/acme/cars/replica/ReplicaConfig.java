@@ -0,0 +1,59 @@
+package com.acme.cars.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+  Roteamento leitura/escrita: o datasource da aplicação passa a ser um roteador entre o primário
+  (spring.datasource) e as réplicas de cars.replica.urls.
+*/
+@Configuration
+@ConditionalOnProperty(name = "cars.replica.enabled", havingValue = "true")
+public class ReplicaConfig {
+
+    // As réplicas são fechadas pelo Replicador, depois que a fila de aplicação para.
+    @Bean(destroyMethod = "")
+    public ReplicacaoEstado replicacaoEstado(@Value("${cars.replica.urls}") List<String> urls,
+                                             @Value("${cars.replica.max-lag:1s}") Duration atrasoMaximo,
+                                             DataSourceProperties properties) {
+        List<Replica> replicas = IntStream.range(0, urls.size())
+                .mapToObj(i -> new Replica("replica-" + i, DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(urls.get(i))
+                        .username(properties.getUsername())
+                        .password(properties.getPassword())
+                        .build()))
+                .toList();
+        return new ReplicacaoEstado(replicas, atrasoMaximo);
+    }
+
+    @Bean
+    public ConsistenciaSessao consistenciaSessao(@Value("${cars.replica.sticky-window:10s}") Duration janela) {
+        return new ConsistenciaSessao(janela);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicacaoEstado replicacaoEstado,
+                                 ConsistenciaSessao consistenciaSessao) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryDataSource, replicacaoEstado, consistenciaSessao));
+    }
+}
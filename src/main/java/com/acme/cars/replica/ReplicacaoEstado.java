@@ -0,0 +1,81 @@
+package com.acme.cars.replica;
+
+import com.acme.cars.payload.ReplicaStatusPayload;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+  Estado da replicação: a sequência de escritas confirmadas no primário e quanto cada réplica já aplicou.
+  Decide se uma leitura pode ir para uma réplica, considerando a tolerância de atraso e a sequência mínima
+  exigida pela sessão (read-your-writes).
+*/
+public class ReplicacaoEstado {
+
+    private final List<Replica> replicas;
+    private final long atrasoMaximoNanos;
+    private final AtomicLong ultimaSequencia = new AtomicLong();
+    // Instante (System.nanoTime) de cada escrita ainda não aplicada por todas as réplicas.
+    private final ConcurrentNavigableMap<Long, Long> pendentes = new ConcurrentSkipListMap<>();
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    ReplicacaoEstado(List<Replica> replicas, Duration atrasoMaximo) {
+        this.replicas = replicas;
+        this.atrasoMaximoNanos = atrasoMaximo.toNanos();
+    }
+
+    List<Replica> replicas() {
+        return replicas;
+    }
+
+    long ultimaSequencia() {
+        return ultimaSequencia.get();
+    }
+
+    /** Registra uma escrita confirmada no primário e devolve sua sequência. */
+    long registrarEscrita() {
+        long sequencia = ultimaSequencia.incrementAndGet();
+        pendentes.put(sequencia, System.nanoTime());
+        return sequencia;
+    }
+
+    void confirmarAplicacao(Replica replica, long sequencia) {
+        replica.marcarAplicada(sequencia);
+        long aplicadaPorTodas = replicas.stream().mapToLong(Replica::sequenciaAplicada).min().orElse(sequencia);
+        pendentes.headMap(aplicadaPorTodas, true).clear();
+    }
+
+    /**
+      Escolhe, em rodízio, uma réplica que já aplicou 'sequenciaMinima' e cujo atraso está dentro da tolerância.
+      Vazio quando nenhuma réplica serve e a leitura deve ir para o primário.
+    */
+    Optional<Replica> escolherReplica(long sequenciaMinima) {
+        List<Replica> elegiveis = replicas.stream()
+                .filter(replica -> replica.sequenciaAplicada() >= Math.max(sequenciaMinima, 0))
+                .filter(replica -> atrasoNanos(replica) <= atrasoMaximoNanos)
+                .toList();
+        if (elegiveis.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(elegiveis.get(Math.floorMod(proxima.getAndIncrement(), elegiveis.size())));
+    }
+
+    /** Idade da escrita mais antiga que a réplica ainda não aplicou; zero se estiver em dia. */
+    long atrasoNanos(Replica replica) {
+        Long instante = pendentes.get(replica.sequenciaAplicada() + 1);
+        return instante == null ? 0 : System.nanoTime() - instante;
+    }
+
+    public List<ReplicaStatusPayload> status() {
+        return replicas.stream()
+                .map(replica -> new ReplicaStatusPayload(replica.nome(), ultimaSequencia(), replica.sequenciaAplicada(),
+                        TimeUnit.NANOSECONDS.toMillis(atrasoNanos(replica))))
+                .toList();
+    }
+}
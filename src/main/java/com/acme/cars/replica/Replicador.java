@@ -0,0 +1,108 @@
+package com.acme.cars.replica;
+
+import com.acme.cars.event.CarroEvento;
+import com.acme.cars.event.UsuarioEvento;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+  Mantém as réplicas em sincronia com o primário dentro da própria aplicação.
+  Na subida copia o banco inteiro (SCRIPT do H2); depois, a cada CarroEvento/UsuarioEvento confirmado,
+  copia a linha afetada do primário numa thread dedicada, de forma que as réplicas ficam atrás do primário
+  por um atraso mensurável.
+*/
+@Component
+@ConditionalOnProperty(name = "cars.replica.enabled", havingValue = "true")
+@Slf4j
+public class Replicador implements SmartInitializingSingleton, DisposableBean {
+
+    private final JdbcTemplate primario;
+    private final ReplicacaoEstado estado;
+    private final ConsistenciaSessao consistencia;
+    private final ExecutorService aplicador = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("replicador").daemon().factory());
+
+    public Replicador(HikariDataSource primaryDataSource, ReplicacaoEstado estado, ConsistenciaSessao consistencia) {
+        this.primario = new JdbcTemplate(primaryDataSource);
+        this.estado = estado;
+        this.consistencia = consistencia;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<String> script = primario.queryForList("SCRIPT DROP", String.class);
+        for (Replica replica : estado.replicas()) {
+            script.forEach(replica.jdbcTemplate()::execute);
+            replica.marcarAplicada(estado.ultimaSequencia());
+        }
+        log.info("{} réplicas sincronizadas com o primário ({} comandos)", estado.replicas().size(), script.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarCarro(CarroEvento evento) {
+        replicar("carro", evento.carroId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarUsuario(UsuarioEvento evento) {
+        replicar("usuario", evento.usuarioId());
+    }
+
+    @Override
+    public void destroy() {
+        aplicador.shutdown();
+        estado.replicas().forEach(replica -> replica.dataSource().close());
+    }
+
+    /**
+      A sequência é atribuída e a tarefa enfileirada sob o mesmo lock, então a thread do aplicador
+      recebe as escritas na ordem das sequências. Essa ordem é a dos callbacks pós-commit, não a dos commits;
+      por isso a tarefa não aplica o estado do evento, e sim a linha lida do primário no momento da aplicação
+      (ou a ausência dela). Como as tarefas rodam uma de cada vez, a última aplicada sobre um ID foi lida
+      depois de todos os commits já notificados sobre ele.
+    */
+    private synchronized void replicar(String tabela, Long id) {
+        long sequencia = estado.registrarEscrita();
+        consistencia.registrarEscrita(sequencia);
+        aplicador.execute(() -> {
+            List<Map<String, Object>> linha;
+            try {
+                linha = primario.queryForList("SELECT * FROM " + tabela + " WHERE id = ?", id);
+            } catch (RuntimeException e) {
+                log.error("Falha ao ler do primário a escrita {} ({} {}): {}", sequencia, tabela, id, e.getMessage());
+                return;
+            }
+            for (Replica replica : estado.replicas()) {
+                try {
+                    if (linha.isEmpty()) {
+                        replica.jdbcTemplate().update("DELETE FROM " + tabela + " WHERE id = ?", id);
+                    } else {
+                        gravar(replica.jdbcTemplate(), tabela, linha.get(0));
+                    }
+                    estado.confirmarAplicacao(replica, sequencia);
+                } catch (RuntimeException e) {
+                    // A réplica fica parada nesta sequência e deixa de receber leituras assim que passar do atraso máximo.
+                    log.error("Falha ao aplicar a escrita {} na {}: {}", sequencia, replica.nome(), e.getMessage());
+                }
+            }
+        });
+    }
+
+    private static void gravar(JdbcTemplate jdbc, String tabela, Map<String, Object> linha) {
+        String colunas = String.join(", ", linha.keySet());
+        String parametros = String.join(", ", Collections.nCopies(linha.size(), "?"));
+        jdbc.update("MERGE INTO " + tabela + " (" + colunas + ") KEY (id) VALUES (" + parametros + ")", linha.values().toArray());
+    }
+}
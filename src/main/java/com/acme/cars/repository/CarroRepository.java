@@ -1,8 +1,21 @@
 package com.acme.cars.repository;
 
 import com.acme.cars.model.Carro;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
 
 public interface CarroRepository extends JpaRepository<Carro, Long> {
 
+    /**
+      Lê o carro com SELECT ... FOR UPDATE, travando a linha até o fim da transação.
+      Usado antes de atualizar ou remover, para que escritas concorrentes no mesmo carro sejam serializadas
+      e cada CarroEvento carregue o estado anterior real.
+    */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Carro c where c.id = :id")
+    Optional<Carro> findByIdParaEscrita(Long id);
 }
@@ -1,7 +1,9 @@
 package com.acme.cars.repository;
 
+import com.acme.cars.dto.UsuarioPerfilDTO;
 import com.acme.cars.model.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,4 +11,12 @@ import java.util.Optional;
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     Usuario findByEmail(String email);
 
+    @Query("select new com.acme.cars.dto.UsuarioPerfilDTO(u.id, u.email, u.nome, u.cargo, u.avatar) from Usuario u where u.id = :id")
+    Optional<UsuarioPerfilDTO> findPerfilById(Long id);
+
+    @Query("select new com.acme.cars.dto.UsuarioPerfilDTO(u.id, u.email, u.nome, u.cargo, u.avatar) from Usuario u where u.email = :email")
+    Optional<UsuarioPerfilDTO> findPerfilByEmail(String email);
+
+    @Query("select u.password from Usuario u where u.email = :email")
+    Optional<String> findPasswordByEmail(String email);
 }
@@ -0,0 +1,83 @@
+package com.acme.cars.serialization;
+
+import com.acme.cars.model.Carro;
+import com.acme.cars.model.Usuario;
+import com.acme.cars.payload.CarroLista;
+import com.acme.cars.payload.UsuarioLista;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+  Codifica Carro e Usuario em Protobuf com schemas gerados a partir das próprias classes do modelo,
+  sem arquivos .proto nem código gerado. Listas são enviadas dentro de CarroLista/UsuarioLista.
+*/
+public class ProtobufCodec {
+
+    public static final MediaType APPLICATION_PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+
+    private final Map<Class<?>, ObjectWriter> writers;
+    private final Map<Class<?>, ObjectReader> readers;
+
+    public ProtobufCodec() {
+        ProtobufMapper mapper = new ProtobufMapper();
+        Function<Class<?>, ProtobufSchema> schema = type -> {
+            try {
+                return mapper.generateSchemaFor(type);
+            } catch (IOException e) {
+                throw new IllegalStateException("Não foi possível gerar o schema Protobuf de " + type.getSimpleName(), e);
+            }
+        };
+        this.writers = Map.of(
+                Carro.class, mapper.writer(schema.apply(Carro.class)),
+                Usuario.class, mapper.writer(schema.apply(Usuario.class)),
+                CarroLista.class, mapper.writer(schema.apply(CarroLista.class)),
+                UsuarioLista.class, mapper.writer(schema.apply(UsuarioLista.class)));
+        this.readers = Map.of(
+                Carro.class, mapper.readerFor(Carro.class).with(schema.apply(Carro.class)),
+                Usuario.class, mapper.readerFor(Usuario.class).with(schema.apply(Usuario.class)));
+    }
+
+    public boolean suportaEscrita(Class<?> type) {
+        return writers.containsKey(type);
+    }
+
+    public boolean suportaLeitura(Class<?> type) {
+        return readers.containsKey(type);
+    }
+
+    public byte[] serializar(Object valor) throws IOException {
+        return writers.get(valor.getClass()).writeValueAsBytes(valor);
+    }
+
+    public void escrever(Object valor, OutputStream out) throws IOException {
+        out.write(serializar(valor));
+    }
+
+    /**
+      Escreve a mensagem precedida do tamanho em varint (formato "delimited" do Protobuf),
+      permitindo enviar várias mensagens em sequência no mesmo stream.
+    */
+    public void escreverDelimitado(Object valor, OutputStream out) throws IOException {
+        byte[] mensagem = serializar(valor);
+        int tamanho = mensagem.length;
+        while ((tamanho & ~0x7F) != 0) {
+            out.write((tamanho & 0x7F) | 0x80);
+            tamanho >>>= 7;
+        }
+        out.write(tamanho);
+        out.write(mensagem);
+    }
+
+    public <T> T ler(Class<T> type, InputStream in) throws IOException {
+        return readers.get(type).readValue(in);
+    }
+}
@@ -0,0 +1,88 @@
+package com.acme.cars.serialization;
+
+import com.acme.cars.model.Carro;
+import com.acme.cars.model.Usuario;
+import com.acme.cars.payload.CarroLista;
+import com.acme.cars.payload.UsuarioLista;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+  HttpMessageConverter para application/x-protobuf, escolhido pelo cabeçalho Accept.
+  Escreve Carro, Usuario e List de ambos (envelopadas em CarroLista/UsuarioLista) e lê Carro e Usuario.
+*/
+public class ProtobufJacksonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final ProtobufCodec codec;
+
+    public ProtobufJacksonHttpMessageConverter(ProtobufCodec codec) {
+        super(ProtobufCodec.APPLICATION_PROTOBUF);
+        this.codec = codec;
+    }
+
+    /** Filtro grosso por classe; o tipo dos elementos de uma List é verificado em canWrite. */
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return codec.suportaEscrita(clazz) || codec.suportaLeitura(clazz) || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return type instanceof Class<?> clazz && codec.suportaLeitura(clazz) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        boolean suportado = codec.suportaEscrita(clazz) || elementoDaLista(type) != null;
+        return suportado && canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Object valor, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        codec.escrever(envelopar(valor, type), outputMessage.getBody());
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return codec.ler(clazz, inputMessage.getBody());
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        if (!(type instanceof Class<?> clazz)) {
+            throw new HttpMessageNotReadableException("Tipo não suportado em Protobuf: " + type, inputMessage);
+        }
+        return readInternal(clazz, inputMessage);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object envelopar(Object valor, @Nullable Type type) {
+        if (!(valor instanceof List<?> lista)) {
+            return valor;
+        }
+        return elementoDaLista(type) == Usuario.class
+                ? new UsuarioLista((List<Usuario>) lista)
+                : new CarroLista((List<Carro>) lista);
+    }
+
+    /** Carro ou Usuario quando o tipo declarado é List<Carro> ou List<Usuario>; null nos demais casos. */
+    @Nullable
+    private static Class<?> elementoDaLista(@Nullable Type type) {
+        if (type instanceof ParameterizedType parametrizado
+                && parametrizado.getRawType() instanceof Class<?> raw && List.class.isAssignableFrom(raw)
+                && parametrizado.getActualTypeArguments()[0] instanceof Class<?> elemento
+                && (elemento == Carro.class || elemento == Usuario.class)) {
+            return elemento;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.acme.cars.service;
+
+import com.acme.cars.payload.GrupoEstatisticaPayload;
+
+import java.util.TreeMap;
+
+/**
+  Agregado incremental de cavalosDePotencia de um grupo.
+  Quantidade e soma são atualizadas em O(1); o máximo usa um multiconjunto ordenado (potência -> ocorrências)
+  para continuar correto quando o carro de maior potência é removido.
+  Os eventos pós-commit podem chegar fora da ordem dos commits, então uma remoção pode vir antes da adição
+  correspondente: as ocorrências ficam negativas por um instante e se anulam quando a adição chega.
+*/
+class AgregadoPotencia {
+
+    private long quantidade;
+    private long soma;
+    private final TreeMap<Integer, Integer> ocorrencias = new TreeMap<>();
+
+    void adicionar(int potencia) {
+        quantidade++;
+        soma += potencia;
+        ocorrencias.merge(potencia, 1, AgregadoPotencia::somar);
+    }
+
+    void remover(int potencia) {
+        quantidade--;
+        soma -= potencia;
+        ocorrencias.merge(potencia, -1, AgregadoPotencia::somar);
+    }
+
+    /** Sem nenhuma contribuição pendente, nem mesmo uma remoção ainda sem a adição correspondente. */
+    boolean vazio() {
+        return quantidade == 0 && ocorrencias.isEmpty();
+    }
+
+    GrupoEstatisticaPayload toPayload() {
+        double media = quantidade == 0 ? 0 : (double) soma / quantidade;
+        return new GrupoEstatisticaPayload(quantidade, media, ocorrencias.isEmpty() ? 0 : ocorrencias.lastKey());
+    }
+
+    // Retorna null quando as ocorrências se anulam, o que remove a potência do multiconjunto.
+    private static Integer somar(int total, int delta) {
+        return total + delta == 0 ? null : total + delta;
+    }
+}
@@ -0,0 +1,79 @@
+package com.acme.cars.service;
+
+import com.acme.cars.model.Carro;
+import com.acme.cars.payload.EstatisticasPayload;
+import com.acme.cars.payload.GrupoEstatisticaPayload;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+  Conjunto dos agregados de EstatisticasService (total e AgregadoPotencia por fabricante, país e década).
+  Não é thread-safe: é acessado sempre sob o lock de EstatisticasService.
+*/
+class Agregados {
+
+    private static final String SEM_VALOR = "N/A";
+
+    private long total;
+    private final Map<String, AgregadoPotencia> porFabricante = new HashMap<>();
+    private final Map<String, AgregadoPotencia> porPais = new HashMap<>();
+    private final Map<Integer, AgregadoPotencia> porDecada = new HashMap<>();
+
+    void adicionar(Carro carro) {
+        total++;
+        adicionar(porFabricante, chave(carro.getFabricante()), carro.getCavalosDePotencia());
+        adicionar(porPais, chave(carro.getPais()), carro.getCavalosDePotencia());
+        adicionar(porDecada, decada(carro.getAno()), carro.getCavalosDePotencia());
+    }
+
+    void remover(Carro carro) {
+        total--;
+        remover(porFabricante, chave(carro.getFabricante()), carro.getCavalosDePotencia());
+        remover(porPais, chave(carro.getPais()), carro.getCavalosDePotencia());
+        remover(porDecada, decada(carro.getAno()), carro.getCavalosDePotencia());
+    }
+
+    long total() {
+        return total;
+    }
+
+    EstatisticasPayload toPayload() {
+        return new EstatisticasPayload(total, snapshot(porFabricante), snapshot(porPais), snapshot(porDecada));
+    }
+
+    private static <K> void adicionar(Map<K, AgregadoPotencia> grupos, K chave, int potencia) {
+        AgregadoPotencia agregado = grupos.computeIfAbsent(chave, k -> new AgregadoPotencia());
+        agregado.adicionar(potencia);
+        descartarSeVazio(grupos, chave, agregado);
+    }
+
+    private static <K> void remover(Map<K, AgregadoPotencia> grupos, K chave, int potencia) {
+        AgregadoPotencia agregado = grupos.computeIfAbsent(chave, k -> new AgregadoPotencia());
+        agregado.remover(potencia);
+        descartarSeVazio(grupos, chave, agregado);
+    }
+
+    // Uma adição também pode esvaziar o grupo, quando anula uma remoção que chegou antes dela.
+    private static <K> void descartarSeVazio(Map<K, AgregadoPotencia> grupos, K chave, AgregadoPotencia agregado) {
+        if (agregado.vazio()) {
+            grupos.remove(chave);
+        }
+    }
+
+    private static <K extends Comparable<K>> Map<K, GrupoEstatisticaPayload> snapshot(Map<K, AgregadoPotencia> grupos) {
+        Map<K, GrupoEstatisticaPayload> copia = new TreeMap<>();
+        grupos.forEach((chave, agregado) -> copia.put(chave, agregado.toPayload()));
+        return copia;
+    }
+
+    private static String chave(String valor) {
+        return Objects.requireNonNullElse(valor, SEM_VALOR);
+    }
+
+    private static Integer decada(int ano) {
+        return ano - Math.floorMod(ano, 10);
+    }
+}
@@ -1,5 +1,6 @@
 package com.acme.cars.service;
 
+import com.acme.cars.event.CarroEvento;
 import com.acme.cars.exception.RecursoNaoEncontradoException;
 import com.acme.cars.model.Carro;
 import com.acme.cars.repository.CarroRepository;
@@ -10,11 +11,17 @@ import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /** Serviço responsável pelas operações de negócio relacionadas a carros. */
 @Service
@@ -23,28 +30,51 @@ public class CarroService implements InterfaceCarroService {
 
     private final CarroRepository carroRepository;
     private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Override
+    @Transactional(readOnly = true)
     public List<Carro> listarTodos(Pageable pageable) {
         return carroRepository.findAll(pageable).stream().toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Carro buscarPorId(Long id) {
         return carroRepository.findById(id)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Carro não encontrado com id: " + id));
     }
 
+    /**
+      Busca vários carros de uma vez com uma única consulta (IN-list), evitando uma ida ao banco por ID.
+      'ids' Os IDs desejados; IDs repetidos ou inexistentes são ignorados.
+      'return' Os carros encontrados, na ordem em que os IDs foram informados.
+    */
     @Override
+    @Transactional(readOnly = true)
+    public List<Carro> buscarPorIds(List<Long> ids) {
+        Map<Long, Carro> carrosPorId = carroRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Carro::getId, Function.identity()));
+        return ids.stream().distinct().map(carrosPorId::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    @Transactional
     public Carro salvar(Carro carro) {
-        return carroRepository.save(carro);
+        Carro carroSalvo = carroRepository.save(carro);
+        eventPublisher.publishEvent(CarroEvento.criado(carroSalvo.toBuilder().build()));
+        return carroSalvo;
     }
 
     @Override
+    @Transactional
     public void deletar(Long id) {
-        carroRepository.findById(id).orElseThrow(() -> new RecursoNaoEncontradoException("Carro não encontrado com id: " + id));
-        carroRepository.deleteById(id);
+        // Com a linha travada, uma remoção concorrente do mesmo carro espera e depois não o encontra (404),
+        // em vez de publicar um segundo REMOVIDO.
+        Carro carro = carroRepository.findByIdParaEscrita(id).orElseThrow(() -> new RecursoNaoEncontradoException("Carro não encontrado com id: " + id));
+        carroRepository.delete(carro);
+        eventPublisher.publishEvent(CarroEvento.removido(carro));
     }
 
     /**
@@ -55,18 +85,24 @@ public class CarroService implements InterfaceCarroService {
       'throws RecursoNaoEncontradoException' Se o carro não for encontrado para atualizar.
     */
     @Override
+    @Transactional
     public Carro atualizar(Long id, Carro carroAtualizado) {
         // Nomes significativos: 'carroAtualizado' indica o propósito do parâmetro.
         // Evitando Ifs aninhados: Lançamento de exceção como guarda de cláusula.
-        if (!carroRepository.existsById(id)) {
-            throw new RecursoNaoEncontradoException("Carro não encontrado com id: " + id);
-        }
+        // Copia o estado anterior antes do save, que pode alterar a mesma instância gerenciada.
+        // A linha fica travada até o commit, então uma atualização concorrente lê este resultado como seu 'anterior'.
+        Carro anterior = carroRepository.findByIdParaEscrita(id)
+                .map(carro -> carro.toBuilder().build())
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Carro não encontrado com id: " + id));
         carroAtualizado.setId(id); // Garante que o ID do carro a ser atualizado seja o do path.
-        return carroRepository.save(carroAtualizado);
+        Carro carroSalvo = carroRepository.save(carroAtualizado);
+        eventPublisher.publishEvent(CarroEvento.atualizado(anterior, carroSalvo.toBuilder().build()));
+        return carroSalvo;
     }
 
 
     @Override
+    @Transactional(readOnly = true)
     public long count(){
         return carroRepository.count();
     }
@@ -79,6 +115,7 @@ public class CarroService implements InterfaceCarroService {
       'return' Retorna uma lista de carros que satisfazem todas as especificações fornecidas.
     */
     @Override
+    @Transactional(readOnly = true)
     public List<Carro> search(List<CarroSpecification> specifications){
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<Carro> cq = cb.createQuery(Carro.class);
@@ -0,0 +1,167 @@
+package com.acme.cars.service;
+
+import com.acme.cars.event.CarroEvento;
+import com.acme.cars.model.Carro;
+import com.acme.cars.payload.CarroAlteracaoPayload;
+import com.acme.cars.specification.CarroSpecification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+  Feed de alterações do catálogo via Server-Sent Events, para que os clientes deixem de refazer a listagem completa.
+  Cada CarroEvento confirmado vira um evento numerado, guardado num buffer circular para permitir retomar
+  a partir do Last-Event-ID, e entregue a cada assinante por uma virtual thread própria.
+  Cada assinante tem uma fila limitada: se ela encher, o assinante é desconectado em vez de acumular memória.
+*/
+@Service
+@Slf4j
+public class ChangeFeedService {
+
+    private final Registro[] historico;
+    private final int tamanhoFila;
+    private final long timeoutMs;
+    private final Duration heartbeat;
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private final ThreadFactory threadsDeEntrega = Thread.ofVirtual().name("change-feed-", 0).factory();
+    private long ultimoId;
+
+    public ChangeFeedService(@Value("${cars.change-feed.history-size:1024}") int tamanhoHistorico,
+                             @Value("${cars.change-feed.buffer-size:256}") int tamanhoFila,
+                             @Value("${cars.change-feed.timeout:30m}") Duration timeout,
+                             @Value("${cars.change-feed.heartbeat:15s}") Duration heartbeat) {
+        this.historico = new Registro[tamanhoHistorico];
+        this.tamanhoFila = tamanhoFila;
+        this.timeoutMs = timeout.toMillis();
+        this.heartbeat = heartbeat;
+    }
+
+    /**
+      Registra um assinante. Com 'ultimoIdRecebido', os eventos posteriores ainda presentes no histórico
+      são reenviados antes dos novos; se eles já saíram do buffer, ou se o ID é maior que o último emitido
+      (os IDs recomeçam a cada subida da aplicação), o cliente recebe um evento 'reset' indicando que deve
+      recarregar a listagem.
+    */
+    public SseEmitter assinar(List<CarroSpecification> filtros, Long ultimoIdRecebido) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Assinante assinante = new Assinante(emitter, filtros, new ArrayBlockingQueue<>(tamanhoFila));
+        List<Registro> reenvio;
+        boolean reset;
+        synchronized (this) {
+            reset = ultimoIdRecebido != null
+                    && (ultimoIdRecebido < ultimoId - historico.length || ultimoIdRecebido > ultimoId);
+            reenvio = ultimoIdRecebido == null || reset ? List.of() : desde(ultimoIdRecebido);
+            assinantes.add(assinante);
+        }
+
+        Thread entrega = threadsDeEntrega.newThread(() -> entregar(assinante, reenvio, reset));
+        emitter.onCompletion(() -> encerrar(assinante, entrega));
+        emitter.onTimeout(() -> {
+            encerrar(assinante, entrega);
+            emitter.complete();
+        });
+        emitter.onError(erro -> encerrar(assinante, entrega));
+        entrega.start();
+        return emitter;
+    }
+
+    public int assinantes() {
+        return assinantes.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void aoAlterarCarro(CarroEvento evento) {
+        CarroAlteracaoPayload alteracao = new CarroAlteracaoPayload(++ultimoId, evento.tipo(), evento.carroId(),
+                evento.atual() != null ? evento.atual() : evento.anterior());
+        historico[(int) (alteracao.id() % historico.length)] = new Registro(alteracao, evento);
+
+        for (Assinante assinante : assinantes) {
+            if (assinante.interessado(evento) && !assinante.fila().offer(alteracao)) {
+                log.warn("Assinante do feed de carros desconectado: fila cheia ({} eventos)", tamanhoFila);
+                assinantes.remove(assinante);
+                assinante.emitter().complete();
+            }
+        }
+    }
+
+    // Chamado sob o lock de this.
+    private List<Registro> desde(long ultimoIdRecebido) {
+        List<Registro> eventos = new ArrayList<>();
+        for (long id = ultimoIdRecebido + 1; id <= ultimoId; id++) {
+            eventos.add(historico[(int) (id % historico.length)]);
+        }
+        return eventos;
+    }
+
+    private void entregar(Assinante assinante, List<Registro> reenvio, boolean reset) {
+        try {
+            if (reset) {
+                assinante.emitter().send(SseEmitter.event().name("reset").data(ultimoIdConhecido()));
+            }
+            for (Registro registro : reenvio) {
+                if (assinante.interessado(registro.evento())) {
+                    enviar(assinante, registro.alteracao());
+                }
+            }
+            while (!Thread.currentThread().isInterrupted()) {
+                CarroAlteracaoPayload alteracao = assinante.fila().poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                if (alteracao == null) {
+                    assinante.emitter().send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    enviar(assinante, alteracao);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectou ou o emitter já foi encerrado.
+            assinantes.remove(assinante);
+        }
+    }
+
+    private static void enviar(Assinante assinante, CarroAlteracaoPayload alteracao) throws IOException {
+        assinante.emitter().send(SseEmitter.event()
+                .id(String.valueOf(alteracao.id()))
+                .name(alteracao.tipo().name())
+                .data(alteracao));
+    }
+
+    private synchronized long ultimoIdConhecido() {
+        return ultimoId;
+    }
+
+    private void encerrar(Assinante assinante, Thread entrega) {
+        assinantes.remove(assinante);
+        entrega.interrupt();
+    }
+
+    /** Entrada do histórico: o evento original é mantido para aplicar no reenvio o mesmo filtro da entrega ao vivo. */
+    private record Registro(CarroAlteracaoPayload alteracao, CarroEvento evento) {
+    }
+
+    private record Assinante(SseEmitter emitter, List<CarroSpecification> filtros,
+                             BlockingQueue<CarroAlteracaoPayload> fila) {
+
+        /** Em atualizações, interessa tanto o carro que entra no filtro quanto o que sai dele. */
+        boolean interessado(CarroEvento evento) {
+            return satisfaz(evento.anterior()) || satisfaz(evento.atual());
+        }
+
+        private boolean satisfaz(Carro carro) {
+            return carro != null && filtros.stream().allMatch(filtro -> filtro.matches(carro));
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.acme.cars.model.Carro;
 import com.opencsv.CSVWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.PageRequest; // Adicionado import para PageRequest
 
 import java.io.FileWriter;
@@ -21,6 +22,7 @@ public class CsvService {
       filepath O caminho completo onde o arquivo CSV será salvo.
       'RuntimeException' Se ocorrer um erro de I/O durante a escrita do arquivo.
     */
+    @Transactional(readOnly = true)
     public void generate(String filepath){
         // Explicação desse trecho do codigo
         // Busca todos os carros. Para evitar carregar todos os dados em memória de uma vez,
@@ -0,0 +1,127 @@
+package com.acme.cars.service;
+
+import com.acme.cars.event.CarroEvento;
+import com.acme.cars.payload.EstatisticasPayload;
+import com.acme.cars.payload.GrupoEstatisticaPayload;
+import com.acme.cars.payload.VerificacaoEstatisticasPayload;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+  Estatísticas materializadas do catálogo (quantidade, média e máximo de potência por fabricante, país e década).
+  São reconstruídas a partir da tabela na subida e, depois, atualizadas pelos CarroEvento aplicando apenas
+  a diferença de cada escrita, de modo que a consulta não precisa varrer a tabela.
+*/
+@Service
+@Slf4j
+public class EstatisticasService implements SmartLifecycle {
+
+    // Antes do servidor web (que sobe em fases próximas de DEFAULT_PHASE), depois de todos os singletons prontos.
+    private static final int FASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final InterfaceCarroService carroService;
+    private Agregados agregados = new Agregados();
+    private volatile boolean iniciado;
+
+    public EstatisticasService(InterfaceCarroService carroService) {
+        this.carroService = carroService;
+    }
+
+    /**
+      Reconstrói os agregados na partida do ciclo de vida, e não num SmartInitializingSingleton: assim todas as
+      implementações de InterfaceCarroService (shards, catálogo colunar, log do write-behind) já foram carregadas,
+      independente da ordem de criação dos beans, e nenhuma requisição chegou ainda.
+    */
+    @Override
+    public void start() {
+        Agregados reconstruidos = calcular();
+        synchronized (this) {
+            agregados = reconstruidos;
+        }
+        iniciado = true;
+        log.info("Estatísticas do catálogo reconstruídas com {} carros", reconstruidos.total());
+    }
+
+    @Override
+    public void stop() {
+        iniciado = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return iniciado;
+    }
+
+    @Override
+    public int getPhase() {
+        return FASE;
+    }
+
+    /**
+      Desfaz a contribuição do estado anterior e aplica a do novo. As diferenças se somam em qualquer ordem,
+      então eventos de escritas concorrentes entregues fora da ordem dos commits chegam ao mesmo resultado,
+      desde que cada 'anterior' seja o estado real (CarroService o lê com a linha travada).
+    */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void aoAlterarCarro(CarroEvento evento) {
+        if (evento.anterior() != null) {
+            agregados.remover(evento.anterior());
+        }
+        if (evento.atual() != null) {
+            agregados.adicionar(evento.atual());
+        }
+    }
+
+    public synchronized EstatisticasPayload consultar() {
+        return agregados.toPayload();
+    }
+
+    /** Recalcula tudo a partir da tabela e lista as diferenças em relação aos agregados incrementais. */
+    public VerificacaoEstatisticasPayload verificar() {
+        long inicio = System.nanoTime();
+        EstatisticasPayload esperado = calcular().toPayload();
+        EstatisticasPayload atual = consultar();
+
+        List<String> divergencias = new ArrayList<>();
+        if (esperado.total() != atual.total()) {
+            divergencias.add("total: esperado " + esperado.total() + ", atual " + atual.total());
+        }
+        comparar("fabricante", esperado.porFabricante(), atual.porFabricante(), divergencias);
+        comparar("pais", esperado.porPais(), atual.porPais(), divergencias);
+        comparar("decada", esperado.porDecada(), atual.porDecada(), divergencias);
+
+        long tempoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        return new VerificacaoEstatisticasPayload(divergencias.isEmpty(), divergencias, tempoMs);
+    }
+
+    private Agregados calcular() {
+        Agregados novos = new Agregados();
+        carroService.listarTodos(PageRequest.of(0, Integer.MAX_VALUE)).forEach(novos::adicionar);
+        return novos;
+    }
+
+    private static <K> void comparar(String grupo, Map<K, GrupoEstatisticaPayload> esperado,
+                                     Map<K, GrupoEstatisticaPayload> atual, List<String> divergencias) {
+        Map<K, GrupoEstatisticaPayload> todos = new HashMap<>(esperado);
+        atual.forEach(todos::putIfAbsent);
+        todos.keySet().forEach(chave -> {
+            GrupoEstatisticaPayload e = esperado.get(chave);
+            GrupoEstatisticaPayload a = atual.get(chave);
+            // A média é comparada com tolerância, pois vem de somas inteiras divididas na consulta.
+            boolean iguais = e != null && a != null && e.quantidade() == a.quantidade()
+                    && e.maxPotencia() == a.maxPotencia() && Math.abs(e.mediaPotencia() - a.mediaPotencia()) < 1e-9;
+            if (!iguais) {
+                divergencias.add(grupo + " " + chave + ": esperado " + e + ", atual " + a);
+            }
+        });
+    }
+}
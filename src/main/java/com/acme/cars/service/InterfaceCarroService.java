@@ -18,6 +18,9 @@ public interface InterfaceCarroService {
     Carro buscarPorId(Long id);
 
 
+    List<Carro> buscarPorIds(List<Long> ids);
+
+
     Carro salvar(Carro carro);
 
 
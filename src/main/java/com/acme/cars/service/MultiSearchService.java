@@ -0,0 +1,45 @@
+package com.acme.cars.service;
+
+import com.acme.cars.model.Carro;
+import com.acme.cars.payload.CriteriaRequest;
+import com.acme.cars.payload.MultiSearchResultPayload;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/** Serviço que executa várias buscas de carros em paralelo e devolve os resultados em uma única resposta. */
+@Service
+@RequiredArgsConstructor
+public class MultiSearchService {
+
+    private final InterfaceCarroService carroService;
+    @Qualifier("searchExecutor")
+    private final ExecutorService searchExecutor;
+
+    /**
+      Executa cada conjunto de critérios como uma busca independente no executor limitado.
+      'criterios' Lista de critérios, reaproveitando as implementações de CarroSpecification.
+      'return' Um resultado por critério, na mesma ordem, com o tempo gasto em cada busca.
+    */
+    public List<MultiSearchResultPayload> searchAll(List<CriteriaRequest> criterios) {
+        List<CompletableFuture<MultiSearchResultPayload>> futures = IntStream.range(0, criterios.size())
+                .mapToObj(indice -> CompletableFuture.supplyAsync(
+                        () -> executarBusca(indice, criterios.get(indice)), searchExecutor))
+                .toList();
+
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private MultiSearchResultPayload executarBusca(int indice, CriteriaRequest criterio) {
+        long inicio = System.nanoTime();
+        List<Carro> carros = carroService.search(criterio.toSpecifications());
+        long tempoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        return new MultiSearchResultPayload(indice, tempoMs, carros);
+    }
+}
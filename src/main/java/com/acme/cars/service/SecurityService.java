@@ -1,8 +1,8 @@
 package com.acme.cars.service;
 
 import com.acme.cars.dto.AuthUserDTO;
+import com.acme.cars.dto.UsuarioPerfilDTO;
 import com.acme.cars.exception.AuthenticationException;
-import com.acme.cars.model.Usuario;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -13,7 +13,7 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class SecurityService {
 
-    private final InterfaceUsuarioService usuarioService;
+    private final UsuarioPerfilCache usuarioPerfilCache;
     private final TokenService tokenService;
 
     /**
@@ -24,21 +24,16 @@ public class SecurityService {
     */
     public String authenticate(AuthUserDTO authUserDTO) throws AuthenticationException {
         // Uso de Optional para tratamento seguro de ausência de usuário.
-        Optional<Usuario> optionalUser = usuarioService.findByEmail(authUserDTO.email());
+        // O cache compara o digest da senha, sem consultar o banco a cada login.
+        Optional<UsuarioPerfilDTO> perfil = usuarioPerfilCache.autenticar(authUserDTO.email(), authUserDTO.password());
 
-        // Evitando Ifs aninhados com guard clauses para melhor legibilidade. Se o usuário não for encontrado pelo email, lança exceção imediatamente.
-        if (optionalUser.isEmpty()) {
-            throw new AuthenticationException("Usuário ou senha incorretos");
-        }
-
-        Usuario usuario = optionalUser.get();
-
-        // Se a senha não corresponder, lança exceção.
-        if (!usuario.getPassword().equals(authUserDTO.password())) {
+        // Evitando Ifs aninhados com guard clauses para melhor legibilidade.
+        // Usuário inexistente e senha incorreta resultam na mesma exceção.
+        if (perfil.isEmpty()) {
             throw new AuthenticationException("Usuário ou senha incorretos");
         }
 
         // Se ambos estiverem corretos, gera e retorna o token, autentica e gerar token.
-        return tokenService.generateToken(usuario);
+        return tokenService.generateToken(perfil.get().toUsuario());
     }
 }
@@ -0,0 +1,137 @@
+package com.acme.cars.service;
+
+import com.acme.cars.dto.UsuarioPerfilDTO;
+import com.acme.cars.event.UsuarioEvento;
+import com.acme.cars.model.Usuario;
+import com.acme.cars.repository.UsuarioRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+  Cache read-through dos perfis de usuário, por ID (subject do token) e por e-mail (login).
+  Os perfis vêm de uma projeção que não lê a senha; para o login guarda-se apenas o SHA-256 da senha,
+  nunca o texto dela. As entradas são invalidadas pelos UsuarioEvento publicados por UsuarioService
+  depois do commit, então a próxima leitura já busca o estado novo.
+  Cada cache é limitado (LRU do Caffeine) e as ausências expiram depois de 'negative-ttl', de modo que
+  logins com e-mails inexistentes não ocupam o espaço dos usuários reais.
+*/
+@Component
+public class UsuarioPerfilCache {
+
+    private final UsuarioRepository usuarioRepository;
+    private final Cache<Long, Optional<UsuarioPerfilDTO>> porId;
+    private final Cache<String, Optional<Credencial>> porEmail;
+    // Incrementado a cada invalidação; um carregamento que a atravessou descarta o próprio resultado.
+    private final AtomicLong invalidacoes = new AtomicLong();
+
+    public UsuarioPerfilCache(UsuarioRepository usuarioRepository,
+                              @Value("${cars.usuario-cache.max-size:10000}") long tamanhoMaximo,
+                              @Value("${cars.usuario-cache.negative-ttl:1m}") Duration validadeAusencia) {
+        this.usuarioRepository = usuarioRepository;
+        this.porId = criar(tamanhoMaximo, validadeAusencia);
+        this.porEmail = criar(tamanhoMaximo, validadeAusencia);
+    }
+
+    public Optional<UsuarioPerfilDTO> perfilPorId(Long id) {
+        return buscar(porId, id, usuarioRepository::findPerfilById);
+    }
+
+    /** Perfil do usuário se o e-mail existir e a senha conferir com o digest guardado. */
+    public Optional<UsuarioPerfilDTO> autenticar(String email, String senha) {
+        if (senha == null) {
+            return Optional.empty();
+        }
+        return credencialPorEmail(email)
+                .filter(credencial -> MessageDigest.isEqual(credencial.senhaDigest(), digest(senha)))
+                .map(Credencial::perfil);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarUsuario(UsuarioEvento evento) {
+        invalidacoes.incrementAndGet();
+        porId.invalidate(evento.usuarioId());
+        Stream.of(evento.anterior(), evento.atual())
+                .filter(usuario -> usuario != null && usuario.getEmail() != null)
+                .map(Usuario::getEmail)
+                .forEach(porEmail::invalidate);
+    }
+
+    private Optional<Credencial> credencialPorEmail(String email) {
+        return buscar(porEmail, email, chave -> usuarioRepository.findPerfilByEmail(chave)
+                .flatMap(perfil -> usuarioRepository.findPasswordByEmail(chave)
+                        .map(senha -> new Credencial(perfil, digest(senha)))));
+    }
+
+    /**
+      O carregamento roda fora de qualquer lock (com virtual threads, um monitor segurado durante a consulta
+      prenderia a carrier thread). Para que uma invalidação concorrente não seja sobrescrita por um valor
+      lido antes do commit, o valor é gravado e, se houve invalidação desde o início da leitura, removido:
+      em qualquer intercalação, ou a invalidação remove o valor gravado ou o próprio carregamento o remove.
+    */
+    private <K, V> Optional<V> buscar(Cache<K, Optional<V>> cache, K chave, Function<K, Optional<V>> carregar) {
+        if (chave == null) {
+            return Optional.empty();
+        }
+        Optional<V> valor = cache.getIfPresent(chave);
+        if (valor != null) {
+            return valor;
+        }
+        long versao = invalidacoes.get();
+        valor = carregar.apply(chave);
+        cache.put(chave, valor);
+        if (invalidacoes.get() != versao) {
+            cache.invalidate(chave);
+        }
+        return valor;
+    }
+
+    private static <K, V> Cache<K, Optional<V>> criar(long tamanhoMaximo, Duration validadeAusencia) {
+        return Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new ExpiraAusencias<K, V>(validadeAusencia.toNanos()))
+                .build();
+    }
+
+    private static byte[] digest(String senha) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(senha.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private record Credencial(UsuarioPerfilDTO perfil, byte[] senhaDigest) {
+    }
+
+    /** Ausências expiram após 'validadeNanos' desde a gravação; perfis encontrados só saem por invalidação ou LRU. */
+    private record ExpiraAusencias<K, V>(long validadeNanos) implements Expiry<K, Optional<V>> {
+
+        @Override
+        public long expireAfterCreate(K chave, Optional<V> valor, long agora) {
+            return valor.isPresent() ? Long.MAX_VALUE : validadeNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(K chave, Optional<V> valor, long agora, long duracaoAtual) {
+            return expireAfterCreate(chave, valor, agora);
+        }
+
+        @Override
+        public long expireAfterRead(K chave, Optional<V> valor, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
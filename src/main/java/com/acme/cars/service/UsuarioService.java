@@ -1,12 +1,16 @@
 package com.acme.cars.service;
 
+import com.acme.cars.dto.UsuarioPerfilDTO;
+import com.acme.cars.event.UsuarioEvento;
 import com.acme.cars.exception.RecursoNaoEncontradoException;
 import com.acme.cars.model.Usuario;
 import com.acme.cars.repository.UsuarioRepository;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,6 +22,8 @@ public class UsuarioService implements InterfaceUsuarioService {
 
     private final EntityManager entityManager;
     private final UsuarioRepository usuarioRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UsuarioPerfilCache usuarioPerfilCache;
 
     /**
       Busca um usuário pelo seu endereço de e-mail.
@@ -25,6 +31,7 @@ public class UsuarioService implements InterfaceUsuarioService {
       'return' Um Optional contendo o usuário, se encontrado; Optional.empty() caso contrário.
     */
     @Override
+    @Transactional(readOnly = true)
     public Optional<Usuario> findByEmail(String email) {
 
         Usuario foundUser = usuarioRepository.findByEmail(email);
@@ -38,6 +45,7 @@ public class UsuarioService implements InterfaceUsuarioService {
       return Uma lista de usuários para a página solicitada.
     */
     @Override
+    @Transactional(readOnly = true)
     public List<Usuario> findAll(Pageable pageable) {
 
         return usuarioRepository.findAll(pageable).stream().toList();
@@ -45,33 +53,32 @@ public class UsuarioService implements InterfaceUsuarioService {
 
     /**
       Busca um usuário pelo seu identificador único.
-      Remove a senha do objeto Usuario antes de retorná-lo para segurança.
+      O usuário vem do cache de perfis (projeção sem a senha), como uma instância desanexada;
+      sem @Transactional, para que uma leitura em cache não abra conexão com o banco.
       parametro 'id' O ID do usuário.
       'return' Um Optional contendo o usuário sem a senha, se encontrado.
      */
     @Override
     public Optional<Usuario> findById(Long id) {
-        Optional<Usuario> byId = usuarioRepository.findById(id);
-        if (byId.isPresent()) {
-            Usuario usuario = byId.get();
-            usuario.setPassword(null); // Define a senha como null antes de retornar
-            return Optional.of(usuario);
-        }
-        return Optional.empty();
+        return usuarioPerfilCache.perfilPorId(id).map(UsuarioPerfilDTO::toUsuario);
     }
 
 
     @Override
+    @Transactional
     public Usuario salvar(Usuario usuario) {
-
-        return usuarioRepository.save(usuario);
+        Usuario usuarioSalvo = usuarioRepository.save(usuario);
+        eventPublisher.publishEvent(UsuarioEvento.criado(usuarioSalvo.toBuilder().build()));
+        return usuarioSalvo;
     }
 
     @Override
+    @Transactional
     public void deletar(Long id) {
         // Primeiro verifica se existe para lançar a exceção correta, depois deleta.
-        usuarioRepository.findById(id).orElseThrow(() -> new RecursoNaoEncontradoException("Usuário não encontrado com id: " + id));
+        Usuario usuario = usuarioRepository.findById(id).orElseThrow(() -> new RecursoNaoEncontradoException("Usuário não encontrado com id: " + id));
         usuarioRepository.deleteById(id);
+        eventPublisher.publishEvent(UsuarioEvento.removido(usuario.toBuilder().build()));
     }
 
     /**
@@ -82,14 +89,18 @@ public class UsuarioService implements InterfaceUsuarioService {
       'throws RecursoNaoEncontradoException' Se o usuário não for encontrado para atualizar.
     */
     @Override
+    @Transactional
     public Usuario atualizar(Long id, Usuario usuarioAtualizado) {
         // Nomes significativos: 'usuarioAtualizado' indica o propósito do parâmetro.
         // Evitando Ifs aninhados: Lançamento de exceção como guarda de cláusula.
-        if (!usuarioRepository.existsById(id)) {
-            throw new RecursoNaoEncontradoException("Usuário não encontrado com id: " + id);
-        }
+        // Copia o estado anterior antes do save, que altera a mesma instância gerenciada.
+        Usuario anterior = usuarioRepository.findById(id)
+                .map(usuario -> usuario.toBuilder().build())
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Usuário não encontrado com id: " + id));
         usuarioAtualizado.setId(id); // Garante que o ID do usuário a ser atualizado seja o do path.
-        return usuarioRepository.save(usuarioAtualizado);
+        Usuario usuarioSalvo = usuarioRepository.save(usuarioAtualizado);
+        eventPublisher.publishEvent(UsuarioEvento.atualizado(anterior, usuarioSalvo.toBuilder().build()));
+        return usuarioSalvo;
     }
 
     /**
@@ -97,6 +108,7 @@ public class UsuarioService implements InterfaceUsuarioService {
       'return' Retorna o número total de usuários.
     */
     @Override
+    @Transactional(readOnly = true)
     public long count(){
         return usuarioRepository.count();
     }
@@ -0,0 +1,121 @@
+package com.acme.cars.sharding;
+
+import com.acme.cars.model.Carro;
+import com.acme.cars.specification.CarroSpecification;
+import com.acme.cars.specification.SqlCriterio;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/** Um shard de carros: um banco H2 próprio com a mesma tabela carro do banco principal. */
+class CarroShard {
+
+    private static final String COLUNAS = "id, modelo, ano, cor, cavalos_de_potencia, fabricante, pais";
+
+    private static final RowMapper<Carro> CARRO_MAPPER = (rs, rowNum) -> Carro.builder()
+            .id(rs.getLong("id"))
+            .modelo(rs.getString("modelo"))
+            .ano(rs.getInt("ano"))
+            .cor(rs.getString("cor"))
+            .cavalosDePotencia(rs.getInt("cavalos_de_potencia"))
+            .fabricante(rs.getString("fabricante"))
+            .pais(rs.getString("pais"))
+            .build();
+
+    private final int indice;
+    private final HikariDataSource dataSource;
+    private final NamedParameterJdbcTemplate jdbc;
+
+    CarroShard(int indice, HikariDataSource dataSource) {
+        this.indice = indice;
+        this.dataSource = dataSource;
+        this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    int indice() {
+        return indice;
+    }
+
+    void criarTabela() {
+        jdbc.getJdbcOperations().execute("""
+                CREATE TABLE IF NOT EXISTS carro (
+                    id BIGINT PRIMARY KEY,
+                    modelo VARCHAR(255),
+                    ano INT NOT NULL,
+                    cor VARCHAR(255),
+                    cavalos_de_potencia INT NOT NULL,
+                    fabricante VARCHAR(255),
+                    pais VARCHAR(255))""");
+        jdbc.getJdbcOperations().execute("CREATE INDEX IF NOT EXISTS idx_carro_fabricante ON carro (fabricante)");
+    }
+
+    Optional<Carro> buscarPorId(long id) {
+        return jdbc.query("SELECT " + COLUNAS + " FROM carro WHERE id = :id",
+                new MapSqlParameterSource("id", id), CARRO_MAPPER).stream().findFirst();
+    }
+
+    List<Carro> buscarPorIds(Collection<Long> ids) {
+        return jdbc.query("SELECT " + COLUNAS + " FROM carro WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids), CARRO_MAPPER);
+    }
+
+    /** Primeiras 'limite' linhas na ordem do ID, para a paginação global feita em ShardedCarroService. */
+    List<Carro> listar(long limite) {
+        return jdbc.query("SELECT " + COLUNAS + " FROM carro ORDER BY id LIMIT :limite",
+                new MapSqlParameterSource("limite", limite), CARRO_MAPPER);
+    }
+
+    List<Carro> search(List<CarroSpecification> specifications) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource();
+        List<String> condicoes = new ArrayList<>();
+        for (CarroSpecification spec : specifications) {
+            SqlCriterio criterio = spec.toSqlCriterio();
+            String parametro = "p" + condicoes.size();
+            condicoes.add(criterio.renderizar(parametro));
+            parametros.addValue(parametro, criterio.valor());
+        }
+        String where = condicoes.isEmpty() ? "" : " WHERE " + String.join(" AND ", condicoes);
+        return jdbc.query("SELECT " + COLUNAS + " FROM carro" + where + " ORDER BY id", parametros, CARRO_MAPPER);
+    }
+
+    long count() {
+        return jdbc.getJdbcOperations().queryForObject("SELECT COUNT(*) FROM carro", Long.class);
+    }
+
+    List<String> fabricantes() {
+        return jdbc.getJdbcOperations().queryForList(
+                "SELECT DISTINCT fabricante FROM carro WHERE fabricante IS NOT NULL", String.class);
+    }
+
+    long maxId() {
+        return jdbc.getJdbcOperations().queryForObject("SELECT COALESCE(MAX(id), 0) FROM carro", Long.class);
+    }
+
+    /** Insere ou substitui a linha com o mesmo ID. */
+    void gravar(Carro carro) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+                .addValue("id", carro.getId())
+                .addValue("modelo", carro.getModelo())
+                .addValue("ano", carro.getAno())
+                .addValue("cor", carro.getCor())
+                .addValue("cavalosDePotencia", carro.getCavalosDePotencia())
+                .addValue("fabricante", carro.getFabricante())
+                .addValue("pais", carro.getPais());
+        jdbc.update("MERGE INTO carro (" + COLUNAS + ") KEY (id) "
+                + "VALUES (:id, :modelo, :ano, :cor, :cavalosDePotencia, :fabricante, :pais)", parametros);
+    }
+
+    boolean remover(long id) {
+        return jdbc.update("DELETE FROM carro WHERE id = :id", new MapSqlParameterSource("id", id)) > 0;
+    }
+
+    void fechar() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,74 @@
+package com.acme.cars.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+  Conjunto dos N shards de carros e o executor usado para consultá-los em paralelo.
+  Os datasources dos shards não são beans, para não concorrer com o datasource principal na autoconfiguração do Spring.
+*/
+@Component
+@ConditionalOnProperty(name = "cars.sharding.enabled", havingValue = "true")
+@Slf4j
+public class CarroShards implements DisposableBean {
+
+    private final List<CarroShard> shards;
+    private final ExecutorService executor;
+
+    public CarroShards(@Value("${cars.sharding.shards:4}") int quantidade,
+                       @Value("${cars.sharding.url-template:jdbc:h2:mem:carro_shard_%d;DB_CLOSE_DELAY=-1}") String urlTemplate) {
+        this.shards = IntStream.range(0, quantidade)
+                .mapToObj(indice -> new CarroShard(indice, criarDataSource(urlTemplate.formatted(indice))))
+                .toList();
+        this.shards.forEach(CarroShard::criarTabela);
+        this.executor = Executors.newFixedThreadPool(quantidade * 4);
+        log.info("Sharding de carros ativo com {} shards", quantidade);
+    }
+
+    /** Shard responsável pelo fabricante, pelo hash do nome em minúsculas. Carros sem fabricante ficam no shard 0. */
+    CarroShard shardPara(String fabricante) {
+        if (fabricante == null) {
+            return shards.get(0);
+        }
+        return shards.get(Math.floorMod(fabricante.toLowerCase().hashCode(), shards.size()));
+    }
+
+    List<CarroShard> todos() {
+        return shards;
+    }
+
+    /** Executa a operação em cada shard informado, em paralelo, e devolve os resultados na ordem dos shards. */
+    <T> List<T> emParalelo(List<CarroShard> alvos, Function<CarroShard, T> operacao) {
+        List<CompletableFuture<T>> futures = alvos.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> operacao.apply(shard), executor))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        shards.forEach(CarroShard::fechar);
+    }
+
+    private static HikariDataSource criarDataSource(String url) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username("sa")
+                .password("")
+                .build();
+    }
+}
@@ -0,0 +1,200 @@
+package com.acme.cars.sharding;
+
+import com.acme.cars.event.CarroEvento;
+import com.acme.cars.exception.RecursoNaoEncontradoException;
+import com.acme.cars.model.Carro;
+import com.acme.cars.repository.CarroRepository;
+import com.acme.cars.service.InterfaceCarroService;
+import com.acme.cars.specification.CarroFabricanteSpecification;
+import com.acme.cars.specification.CarroSpecification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+  Implementação de InterfaceCarroService que particiona os carros entre N bancos pelo hash do fabricante.
+  Buscas com critério de fabricante consultam apenas os shards dos fabricantes que casam com o critério;
+  as demais consultam todos os shards em paralelo e mesclam os resultados pela ordem do ID, sem repetir IDs:
+  enquanto atualizar move um carro de shard, ele existe por um instante nos dois.
+  atualizar e deletar do mesmo ID são serializados por um lock, como o PESSIMISTIC_WRITE do CarroService.
+*/
+@Service
+@Primary
+@ConditionalOnProperty(name = "cars.sharding.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ShardedCarroService implements InterfaceCarroService, SmartInitializingSingleton {
+
+    private final CarroShards shards;
+    private final CarroRepository carroRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // IDs são gerados aqui, e não pelo IDENTITY de cada shard, para serem únicos entre todos os shards.
+    private final AtomicLong sequencia = new AtomicLong();
+    // Fabricantes já gravados (em minúsculas), usados para rotear buscas por fabricante sem consultar todos os shards.
+    private final Set<String> fabricantesConhecidos = ConcurrentHashMap.newKeySet();
+    // Serializam atualizar/deletar do mesmo ID; ReentrantLock porque as escritas nos shards vêm de virtual threads.
+    private final ReentrantLock[] locksPorId = Stream.generate(ReentrantLock::new).limit(64).toArray(ReentrantLock[]::new);
+
+    /** Distribui os carros do banco principal (carregados pelo data.sql) entre os shards, se estiverem vazios. */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (count() == 0) {
+            List<Carro> carros = carroRepository.findAll();
+            carros.forEach(carro -> shards.shardPara(carro.getFabricante()).gravar(carro));
+            log.info("{} carros distribuídos entre {} shards", carros.size(), shards.todos().size());
+        }
+        shards.emParalelo(shards.todos(), CarroShard::fabricantes)
+                .forEach(fabricantes -> fabricantes.forEach(f -> fabricantesConhecidos.add(f.toLowerCase())));
+        sequencia.set(shards.emParalelo(shards.todos(), CarroShard::maxId).stream()
+                .mapToLong(Long::longValue).max().orElse(0));
+    }
+
+    /**
+      Paginação global: cada shard devolve suas primeiras (offset + size) linhas por ID,
+      e a página é recortada depois da mescla.
+    */
+    @Override
+    public List<Carro> listarTodos(Pageable pageable) {
+        long limitePorShard = pageable.getOffset() + pageable.getPageSize();
+        return mesclarPorId(shards.emParalelo(shards.todos(), shard -> shard.listar(limitePorShard)))
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+
+    @Override
+    public Carro buscarPorId(Long id) {
+        return localizar(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Carro não encontrado com id: " + id));
+    }
+
+    @Override
+    public List<Carro> buscarPorIds(List<Long> ids) {
+        Map<Long, Carro> carrosPorId = mesclarPorId(shards.emParalelo(shards.todos(), shard -> shard.buscarPorIds(ids)))
+                .collect(Collectors.toMap(Carro::getId, Function.identity()));
+        return ids.stream().distinct().map(carrosPorId::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public Carro salvar(Carro carro) {
+        carro.setId(sequencia.incrementAndGet());
+        shards.shardPara(carro.getFabricante()).gravar(carro);
+        registrarFabricante(carro);
+        eventPublisher.publishEvent(CarroEvento.criado(carro.toBuilder().build()));
+        return carro;
+    }
+
+    @Override
+    public void deletar(Long id) {
+        ReentrantLock lock = lockDo(id);
+        lock.lock();
+        try {
+            Carro carro = buscarPorId(id);
+            shards.shardPara(carro.getFabricante()).remover(id);
+            eventPublisher.publishEvent(CarroEvento.removido(carro));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+      Se o fabricante mudar, o carro é movido para o shard do novo fabricante. A linha é gravada no destino
+      antes de sair da origem, para que nunca fique invisível. Com o lock do ID, só uma mudança de shard
+      acontece por vez, então a cópia dupla dura apenas entre as duas escritas e só pode ser vista por leituras
+      concorrentes (a mescla descarta uma delas; count() pode contar o carro duas vezes nesse intervalo).
+    */
+    @Override
+    public Carro atualizar(Long id, Carro carroAtualizado) {
+        ReentrantLock lock = lockDo(id);
+        lock.lock();
+        try {
+            Carro anterior = buscarPorId(id);
+            carroAtualizado.setId(id); // Garante que o ID do carro a ser atualizado seja o do path.
+
+            CarroShard origem = shards.shardPara(anterior.getFabricante());
+            CarroShard destino = shards.shardPara(carroAtualizado.getFabricante());
+            destino.gravar(carroAtualizado);
+            if (origem != destino) {
+                origem.remover(id);
+            }
+            registrarFabricante(carroAtualizado);
+            eventPublisher.publishEvent(CarroEvento.atualizado(anterior, carroAtualizado.toBuilder().build()));
+            return carroAtualizado;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long count() {
+        return shards.emParalelo(shards.todos(), CarroShard::count).stream().mapToLong(Long::longValue).sum();
+    }
+
+    @Override
+    public List<Carro> search(List<CarroSpecification> specifications) {
+        return mesclarPorId(shards.emParalelo(shardsAlvo(specifications), shard -> shard.search(specifications)))
+                .toList();
+    }
+
+    /**
+      Como o critério de fabricante é um "contém", o roteamento considera todos os fabricantes conhecidos
+      que casam com ele; normalmente todos caem no mesmo shard.
+    */
+    private List<CarroShard> shardsAlvo(List<CarroSpecification> specifications) {
+        Optional<String> criterioFabricante = specifications.stream()
+                .filter(CarroFabricanteSpecification.class::isInstance)
+                .map(spec -> ((CarroFabricanteSpecification) spec).getFabricante().toLowerCase())
+                .findFirst();
+        if (criterioFabricante.isEmpty()) {
+            return shards.todos();
+        }
+        return fabricantesConhecidos.stream()
+                .filter(fabricante -> fabricante.contains(criterioFabricante.get()))
+                .map(shards::shardPara)
+                .distinct()
+                .toList();
+    }
+
+    /** Junta os resultados dos shards na ordem do ID, mantendo uma única linha por ID. */
+    private static Stream<Carro> mesclarPorId(List<List<Carro>> porShard) {
+        return porShard.stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toMap(Carro::getId, Function.identity(), (primeiro, outro) -> primeiro, TreeMap::new))
+                .values().stream();
+    }
+
+    private Optional<Carro> localizar(Long id) {
+        return shards.emParalelo(shards.todos(), shard -> shard.buscarPorId(id)).stream()
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
+
+    private ReentrantLock lockDo(Long id) {
+        return locksPorId[Math.floorMod(id.hashCode(), locksPorId.length)];
+    }
+
+    private void registrarFabricante(Carro carro) {
+        if (carro.getFabricante() != null) {
+            fabricantesConhecidos.add(carro.getFabricante().toLowerCase());
+        }
+    }
+}
@@ -15,4 +15,14 @@ public class CarroAnoSpecification implements CarroSpecification {
     public Predicate toPredicate(CriteriaBuilder cb, Root<Carro> root) {
         return cb.equal(root.get("ano"), ano);
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean matches(Carro carro) {
+        return ano == carro.getAno();
+    }
+
+    @Override
+    public SqlCriterio toSqlCriterio() {
+        return new SqlCriterio("ano", "=", ano);
+    }
+}
@@ -15,4 +15,14 @@ public class CarroCorSpecification implements CarroSpecification {
     public Predicate toPredicate(CriteriaBuilder cb, Root<Carro> root) {
         return cb.like(cb.lower(root.get("cor")), "%" + cor.toLowerCase() + "%");
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean matches(Carro carro) {
+        return carro.getCor() != null && carro.getCor().toLowerCase().contains(cor.toLowerCase());
+    }
+
+    @Override
+    public SqlCriterio toSqlCriterio() {
+        return new SqlCriterio("LOWER(cor)", "LIKE", "%" + cor.toLowerCase() + "%");
+    }
+}
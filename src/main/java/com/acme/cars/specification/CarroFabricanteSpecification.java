@@ -5,9 +5,11 @@ import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import lombok.AllArgsConstructor;
+import lombok.Getter;
 
 /** Implementação da CarroSpecification para filtrar carros por fabricante. */
 @AllArgsConstructor
+@Getter
 public class CarroFabricanteSpecification implements CarroSpecification {
     private final String fabricante;
 
@@ -15,4 +17,14 @@ public class CarroFabricanteSpecification implements CarroSpecification {
     public Predicate toPredicate(CriteriaBuilder cb, Root<Carro> root) {
         return cb.like(cb.lower(root.get("fabricante")), "%" + fabricante.toLowerCase() + "%");
     }
+
+    @Override
+    public boolean matches(Carro carro) {
+        return carro.getFabricante() != null && carro.getFabricante().toLowerCase().contains(fabricante.toLowerCase());
+    }
+
+    @Override
+    public SqlCriterio toSqlCriterio() {
+        return new SqlCriterio("LOWER(fabricante)", "LIKE", "%" + fabricante.toLowerCase() + "%");
+    }
 }
@@ -15,4 +15,14 @@ public class CarroModeloSpecification implements CarroSpecification {
     public Predicate toPredicate(CriteriaBuilder cb, Root<Carro> root) {
         return cb.like(cb.lower(root.get("modelo")), "%" + modelo.toLowerCase() + "%");
     }
+
+    @Override
+    public boolean matches(Carro carro) {
+        return carro.getModelo() != null && carro.getModelo().toLowerCase().contains(modelo.toLowerCase());
+    }
+
+    @Override
+    public SqlCriterio toSqlCriterio() {
+        return new SqlCriterio("LOWER(modelo)", "LIKE", "%" + modelo.toLowerCase() + "%");
+    }
 }
@@ -15,4 +15,14 @@ public class CarroPaisSpecification implements CarroSpecification {
     public Predicate toPredicate(CriteriaBuilder cb, Root<Carro> root) {
         return cb.like(cb.lower(root.get("pais")), "%" + pais.toLowerCase() + "%");
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean matches(Carro carro) {
+        return carro.getPais() != null && carro.getPais().toLowerCase().contains(pais.toLowerCase());
+    }
+
+    @Override
+    public SqlCriterio toSqlCriterio() {
+        return new SqlCriterio("LOWER(pais)", "LIKE", "%" + pais.toLowerCase() + "%");
+    }
+}
@@ -14,4 +14,18 @@ public interface CarroSpecification {
       'return' Um objeto Predicate que representa a condição de busca.
     */
     Predicate toPredicate(CriteriaBuilder cb, Root<Carro> root);
+
+    /**
+      Avalia a mesma condição em memória, sem consultar o banco.
+      Deve ser equivalente ao predicado gerado por toPredicate.
+      parametro 'carro' O carro a ser avaliado.
+      'return' true se o carro satisfaz a condição.
+    */
+    boolean matches(Carro carro);
+
+    /**
+      Cria a mesma condição em SQL, para consultas feitas fora do JPA.
+      'return' Um SqlCriterio sobre as colunas da tabela carro.
+    */
+    SqlCriterio toSqlCriterio();
 }
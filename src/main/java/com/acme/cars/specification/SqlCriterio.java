@@ -0,0 +1,15 @@
+package com.acme.cars.specification;
+
+/**
+  Condição de busca em SQL puro, para os caminhos que não usam JPA (ex: shards acessados via JDBC).
+  'expressao' Coluna ou expressão da tabela carro, ex: LOWER(modelo).
+  'operador' Operador SQL, ex: LIKE ou =.
+  'valor' Valor já no formato esperado pelo operador.
+*/
+public record SqlCriterio(String expressao, String operador, Object valor) {
+
+    /** Monta a condição com um parâmetro nomeado, ex: "LOWER(modelo) LIKE :p0". */
+    public String renderizar(String parametro) {
+        return expressao + " " + operador + " :" + parametro;
+    }
+}
@@ -0,0 +1,119 @@
+package com.acme.cars;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.acme.cars.logging.LogAmostrado;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+  Mede a vazão vista pelas threads de requisição ao registrar o log da listagem de carros:
+  sem log, com appender síncrono, com o AsyncAppender do logback-spring.xml e com amostragem 1/100.
+  O destino é um arquivo com flush a cada evento, como o console.
+  Executado apenas com: mvn test -Pbenchmark
+*/
+@Tag("benchmark")
+class LoggingBenchmarkTest {
+
+    private static final int THREADS = 8;
+    private static final int EVENTOS_POR_THREAD = 50_000;
+    private static final String PADRAO = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %-40.40logger{39} : %m%n";
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void comparaLogs() throws Exception {
+        double semLog = medir(null, Level.OFF, log -> log.info("Requisição para listar carros - Página: {}, Tamanho: {}", 0, 99999));
+        double sincrono = medir(this::arquivo, Level.INFO, log -> log.info("Requisição para listar carros - Página: {}, Tamanho: {}", 0, 99999));
+        double assincrono = medir(this::assincrono, Level.INFO,
+                log -> log.atInfo().addKeyValue("page", 0).addKeyValue("size", 99999).log("Requisição para listar carros"));
+        LogAmostrado amostra = LogAmostrado.aCada(100);
+        double amostrado = medir(this::arquivo, Level.INFO,
+                log -> amostra.atInfo(log).addKeyValue("page", 0).addKeyValue("size", 99999).log("Requisição para listar carros"));
+
+        System.out.printf("eventos/s por %d threads%n  sem log:    %,.0f%n  síncrono:   %,.0f%n  assíncrono: %,.0f%n  amostrado:  %,.0f%n",
+                THREADS, semLog, sincrono, assincrono, amostrado);
+        assertThat(amostrado).isGreaterThan(sincrono);
+    }
+
+    private double medir(Function<LoggerContext, Appender<ILoggingEvent>> appender,
+                         Level nivel, Consumer<Logger> registrar) throws Exception {
+        LoggerContext contexto = new LoggerContext();
+        Logger log = contexto.getLogger("com.acme.cars.controller.CarroController");
+        log.setLevel(nivel);
+        if (appender != null) {
+            log.addAppender(appender.apply(contexto));
+        }
+        try {
+            executar(log, registrar, EVENTOS_POR_THREAD / 10); // Aquecimento
+            long inicio = System.nanoTime();
+            executar(log, registrar, EVENTOS_POR_THREAD);
+            return THREADS * (double) EVENTOS_POR_THREAD / ((System.nanoTime() - inicio) / 1e9);
+        } finally {
+            contexto.stop();
+        }
+    }
+
+    private void executar(Logger log, Consumer<Logger> registrar, int eventos) throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                tarefas.add(executor.submit(() -> {
+                    for (int i = 0; i < eventos; i++) {
+                        registrar.accept(log);
+                    }
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        }
+    }
+
+    private Appender<ILoggingEvent> arquivo(LoggerContext contexto) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(contexto);
+        encoder.setPattern(PADRAO);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(contexto);
+        appender.setFile(diretorio.resolve("cars-" + System.nanoTime() + ".log").toString());
+        appender.setEncoder(encoder);
+        appender.setImmediateFlush(true);
+        appender.start();
+        return appender;
+    }
+
+    /** Mesma configuração do ASYNC_CONSOLE em logback-spring.xml. */
+    private Appender<ILoggingEvent> assincrono(LoggerContext contexto) {
+        AsyncAppender appender = new AsyncAppender();
+        appender.setContext(contexto);
+        appender.setQueueSize(8192);
+        appender.setDiscardingThreshold(1638);
+        appender.setNeverBlock(true);
+        appender.setIncludeCallerData(false);
+        appender.addAppender(arquivo(contexto));
+        appender.start();
+        return appender;
+    }
+}
@@ -0,0 +1,94 @@
+package com.acme.cars;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+  Compara a listagem bloqueante (/api/carros) com a reativa (/api/reactive/carros) sob alta concorrência.
+  Executado apenas com: mvn test -Pload-test
+*/
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveVsServletLoadTest {
+
+    private static final int CONCORRENCIA = 200;
+    private static final int REQUISICOES = 4000;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void comparaServletEReativo() throws Exception {
+        executar("/api/carros", 200); // Aquecimento
+        executar("/api/reactive/carros", 200);
+
+        Resultado servlet = executar("/api/carros", REQUISICOES);
+        Resultado reativo = executar("/api/reactive/carros", REQUISICOES);
+
+        System.out.printf("servlet: %s%nreativo: %s%n", servlet, reativo);
+        assertThat(servlet.erros()).isZero();
+        assertThat(reativo.erros()).isZero();
+    }
+
+    private Resultado executar(String path, int requisicoes) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+        Semaphore emAndamento = new Semaphore(CONCORRENCIA);
+        List<Long> latencias = Collections.synchronizedList(new ArrayList<>());
+        List<Future<Integer>> respostas = new ArrayList<>();
+
+        long inicio = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requisicoes; i++) {
+                emAndamento.acquire();
+                respostas.add(executor.submit(() -> {
+                    long t0 = System.nanoTime();
+                    try {
+                        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } finally {
+                        latencias.add(System.nanoTime() - t0);
+                        emAndamento.release();
+                    }
+                }));
+            }
+        }
+        long duracao = System.nanoTime() - inicio;
+
+        long erros = 0;
+        for (Future<Integer> resposta : respostas) {
+            if (resposta.get() != 200) {
+                erros++;
+            }
+        }
+        List<Long> ordenadas = latencias.stream().sorted().toList();
+        return new Resultado(requisicoes * 1e9 / duracao,
+                TimeUnit.NANOSECONDS.toMillis(ordenadas.get(ordenadas.size() / 2)),
+                TimeUnit.NANOSECONDS.toMillis(ordenadas.get((int) (ordenadas.size() * 0.99))),
+                erros);
+    }
+
+    private record Resultado(double requisicoesPorSegundo, long p50Ms, long p99Ms, long erros) {
+        @Override
+        public String toString() {
+            return "%.0f req/s, p50=%dms, p99=%dms, erros=%d".formatted(requisicoesPorSegundo, p50Ms, p99Ms, erros);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.acme.cars;
+
+import com.acme.cars.model.Carro;
+import com.acme.cars.payload.CarroLista;
+import com.acme.cars.serialization.ProtobufCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+  Compara tamanho do payload e tempo de serialização de uma página de carros em JSON, CBOR e Protobuf.
+  Executado apenas com: mvn test -Pbenchmark
+*/
+@Tag("benchmark")
+class SerializacaoBenchmarkTest {
+
+    private static final int CARROS = 10_000;
+    private static final int AQUECIMENTO = 50;
+    private static final int MEDICOES = 200;
+
+    private final List<Carro> carros = IntStream.range(0, CARROS)
+            .mapToObj(i -> Carro.builder()
+                    .id((long) i)
+                    .modelo("Modelo " + (i % 130))
+                    .ano(1990 + i % 35)
+                    .cor(List.of("Preto", "Branco", "Prata", "Vermelho", "Azul").get(i % 5))
+                    .cavalosDePotencia(100 + i % 400)
+                    .fabricante("Fabricante " + (i % 30))
+                    .pais(List.of("Alemanha", "Japão", "EUA", "Itália").get(i % 4))
+                    .build())
+            .toList();
+
+    @Test
+    void comparaFormatos() throws Exception {
+        ObjectMapper json = new ObjectMapper();
+        CBORMapper cbor = new CBORMapper();
+        ProtobufCodec protobuf = new ProtobufCodec();
+
+        Resultado resultadoJson = medir(() -> json.writeValueAsBytes(carros));
+        Resultado resultadoCbor = medir(() -> cbor.writeValueAsBytes(carros));
+        Resultado resultadoProtobuf = medir(() -> protobuf.serializar(new CarroLista(carros)));
+
+        System.out.printf("%d carros%n  json:     %s%n  cbor:     %s%n  protobuf: %s%n",
+                CARROS, resultadoJson, resultadoCbor, resultadoProtobuf);
+        assertThat(resultadoProtobuf.bytes()).isLessThan(resultadoJson.bytes());
+        assertThat(resultadoCbor.bytes()).isLessThan(resultadoJson.bytes());
+    }
+
+    private Resultado medir(Callable<byte[]> serializacao) throws Exception {
+        int bytes = 0;
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            bytes = serializacao.call().length;
+        }
+        long inicio = System.nanoTime();
+        for (int i = 0; i < MEDICOES; i++) {
+            serializacao.call();
+        }
+        return new Resultado(bytes, (System.nanoTime() - inicio) / MEDICOES / 1_000);
+    }
+
+    private record Resultado(int bytes, long microsPorPagina) {
+        @Override
+        public String toString() {
+            return "%,d bytes, %,d µs por página".formatted(bytes, microsPorPagina);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.acme.cars.catalog;
+
+import com.acme.cars.event.CarroEvento;
+import com.acme.cars.model.Carro;
+import com.acme.cars.repository.CarroRepository;
+import com.acme.cars.specification.CarroFabricanteSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CarroColumnarCatalogTest {
+
+    private final CarroRepository carroRepository = mock(CarroRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final CarroColumnarCatalog catalog = new CarroColumnarCatalog(carroRepository, jdbcTemplate);
+
+    @BeforeEach
+    void carregar() {
+        when(carroRepository.findAll(any(Sort.class))).thenReturn(List.of(carro(1, "Fiat"), carro(3, "Ford"), carro(5, "Fiat")));
+        catalog.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void insereNoMeioMantendoOrdemDoId() {
+        noBanco(2, carro(2, "Honda"));
+
+        assertThat(ids(catalog.listar(PageRequest.of(0, 10)))).containsExactly(1L, 2L, 3L, 5L);
+        assertThat(ids(catalog.listar(PageRequest.of(1, 2)))).containsExactly(3L, 5L);
+        assertThat(catalog.buscarPorId(2L)).hasValueSatisfying(carro -> assertThat(carro.getFabricante()).isEqualTo("Honda"));
+        assertThat(catalog.count()).isEqualTo(4);
+    }
+
+    @Test
+    void remocaoDeixaLapideQueNaoApareceNasLeituras() {
+        noBanco(3, null);
+
+        assertThat(catalog.buscarPorId(3L)).isEmpty();
+        assertThat(ids(catalog.listar(PageRequest.of(0, 10)))).containsExactly(1L, 5L);
+        assertThat(ids(catalog.listar(PageRequest.of(1, 1)))).containsExactly(5L);
+        assertThat(catalog.count()).isEqualTo(2);
+
+        noBanco(3, carro(3, "Ford"));
+        assertThat(ids(catalog.listar(PageRequest.of(0, 10)))).containsExactly(1L, 3L, 5L);
+    }
+
+    @Test
+    void compactaQuandoMaisDaMetadeSaoLapides() {
+        LongStream.rangeClosed(6, 10).forEach(id -> noBanco(id, carro(id, id % 2 == 0 ? "Fiat" : "Ford")));
+        LongStream.of(1, 3, 5, 6, 7).forEach(id -> noBanco(id, null));
+
+        assertThat(ids(catalog.listar(PageRequest.of(0, 10)))).containsExactly(8L, 9L, 10L);
+        assertThat(ids(catalog.search(List.of(new CarroFabricanteSpecification("fiat"))))).containsExactly(8L, 10L);
+        assertThat(catalog.count()).isEqualTo(3);
+
+        noBanco(4, carro(4, "Fiat"));
+        assertThat(ids(catalog.listar(PageRequest.of(0, 10)))).containsExactly(4L, 8L, 9L, 10L);
+    }
+
+    @Test
+    void aplicaOEstadoAtualDoBancoEmVezDoEstadoDoEvento() {
+        Carro doEvento = carro(1, "Antigo");
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(1L))).thenReturn(List.of(carro(1, "Atual")));
+
+        catalog.aoAlterarCarro(CarroEvento.atualizado(carro(1, "Fiat"), doEvento));
+
+        assertThat(catalog.buscarPorId(1L)).hasValueSatisfying(carro -> assertThat(carro.getFabricante()).isEqualTo("Atual"));
+    }
+
+    /** Simula a escrita confirmada no banco e o evento correspondente; 'carro' nulo é uma remoção. */
+    private void noBanco(long id, Carro carro) {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(id))).thenReturn(carro == null ? List.of() : List.of(carro));
+        catalog.aoAlterarCarro(carro == null ? CarroEvento.removido(carro(id, "?")) : CarroEvento.criado(carro));
+    }
+
+    private static Carro carro(long id, String fabricante) {
+        return new Carro(id, "Modelo " + id, 2000 + (int) id, "Preto", 100, fabricante, "Brasil");
+    }
+
+    private static List<Long> ids(List<Carro> carros) {
+        return carros.stream().map(Carro::getId).toList();
+    }
+}
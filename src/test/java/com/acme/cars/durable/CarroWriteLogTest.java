@@ -0,0 +1,177 @@
+package com.acme.cars.durable;
+
+import com.acme.cars.model.Carro;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CarroWriteLogTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void releGravacoesERemocoesDepoisDeFechar() {
+        CarroWriteLog writeLog = abrir();
+        anexar(writeLog, new RegistroLog(1, carro(1, "Fiat")));
+        anexar(writeLog, new RegistroLog(2, Carro.builder().id(2L).ano(2020).build()));
+        anexar(writeLog, new RegistroLog(1, null));
+        writeLog.close();
+
+        List<RegistroLog> registros = CarroWriteLog.ler(writeLog.segmentos().getFirst());
+
+        assertThat(registros).hasSize(3);
+        assertThat(registros.get(0).carro()).isEqualTo(carro(1, "Fiat"));
+        assertThat(registros.get(1).carro().getModelo()).isNull();
+        assertThat(registros.get(2).remocao()).isTrue();
+    }
+
+    @Test
+    void recuperacaoAbreSegmentoNovoDepoisDosExistentes() {
+        CarroWriteLog anterior = abrir();
+        anexar(anterior, new RegistroLog(1, carro(1, "Fiat")));
+        anterior.rotacionar(() -> { });
+        anexar(anterior, new RegistroLog(2, carro(2, "Ford")));
+        anterior.close(); // Queda: nenhum segmento foi apagado.
+
+        CarroWriteLog reaberto = abrir();
+
+        assertThat(reaberto.segmentoAtual()).isEqualTo(2);
+        List<RegistroLog> registros = new ArrayList<>();
+        reaberto.segmentos().forEach(segmento -> registros.addAll(CarroWriteLog.ler(segmento)));
+        assertThat(registros).extracting(RegistroLog::id).containsExactly(1L, 2L);
+
+        reaberto.apagarAnteriores(reaberto.segmentoAtual());
+        assertThat(reaberto.segmentos()).hasSize(1);
+        reaberto.close();
+    }
+
+    @Test
+    void registroIncompletoNoFimEncerraALeitura() throws IOException {
+        Path segmento = segmentoCom(3);
+        try (RandomAccessFile arquivo = new RandomAccessFile(segmento.toFile(), "rw")) {
+            arquivo.setLength(arquivo.length() - 5);
+        }
+
+        assertThat(CarroWriteLog.ler(segmento)).extracting(RegistroLog::id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void cabecalhoIncompletoNoFimEncerraALeitura() throws IOException {
+        Path segmento = segmentoCom(2);
+        Files.write(segmento, new byte[]{0, 0, 0}, StandardOpenOption.APPEND);
+
+        assertThat(CarroWriteLog.ler(segmento)).hasSize(2);
+    }
+
+    @Test
+    void crcDivergenteEncerraALeitura() throws IOException {
+        Path segmento = segmentoCom(3);
+        long inicioSegundo = tamanhoDoPrimeiro(segmento);
+        try (RandomAccessFile arquivo = new RandomAccessFile(segmento.toFile(), "rw")) {
+            arquivo.seek(inicioSegundo + 8 + 3);
+            int original = arquivo.read();
+            arquivo.seek(inicioSegundo + 8 + 3);
+            arquivo.write(original ^ 0xFF);
+        }
+
+        assertThat(CarroWriteLog.ler(segmento)).extracting(RegistroLog::id).containsExactly(1L);
+    }
+
+    @Test
+    void tamanhoNegativoEhTratadoComoCorrupcao() throws IOException {
+        assertThat(CarroWriteLog.ler(comTamanhoDoSegundo(-7))).extracting(RegistroLog::id).containsExactly(1L);
+    }
+
+    @Test
+    void tamanhoZeroEhTratadoComoCorrupcao() throws IOException {
+        assertThat(CarroWriteLog.ler(comTamanhoDoSegundo(0))).extracting(RegistroLog::id).containsExactly(1L);
+    }
+
+    @Test
+    void tamanhoAcimaDoMaximoEhTratadoComoCorrupcao() throws IOException {
+        assertThat(CarroWriteLog.ler(comTamanhoDoSegundo(Integer.MAX_VALUE))).extracting(RegistroLog::id).containsExactly(1L);
+    }
+
+    @Test
+    void tamanhoAlemDoFimDoArquivoEhTratadoComoIncompleto() throws IOException {
+        assertThat(CarroWriteLog.ler(comTamanhoDoSegundo(CarroWriteLog.TAMANHO_MAXIMO))).extracting(RegistroLog::id).containsExactly(1L);
+    }
+
+    @Test
+    void sincronizarEmGrupoCobreEscritasAnteriores() {
+        CarroWriteLog writeLog = abrir();
+        long primeira = writeLog.anexar(new RegistroLog(1, carro(1, "Fiat")), () -> { });
+        long segunda = writeLog.anexar(new RegistroLog(2, carro(2, "Ford")), () -> { });
+
+        writeLog.sincronizar(segunda);
+        writeLog.sincronizar(primeira); // Já coberta pelo fsync anterior.
+        writeLog.close();
+
+        assertThat(CarroWriteLog.ler(writeLog.segmentos().getFirst())).hasSize(2);
+    }
+
+    @Test
+    void rotacaoExecutaATrocaSemEscritasNoMeio() {
+        CarroWriteLog writeLog = abrir();
+        anexar(writeLog, new RegistroLog(1, carro(1, "Fiat")));
+        List<Long> vistos = new ArrayList<>();
+
+        long novo = writeLog.rotacionar(() -> vistos.add(writeLog.segmentoAtual()));
+        anexar(writeLog, new RegistroLog(2, carro(2, "Ford")));
+        writeLog.apagarAnteriores(novo);
+        writeLog.close();
+
+        assertThat(vistos).containsExactly(1L);
+        assertThat(writeLog.segmentos()).hasSize(1);
+        assertThat(CarroWriteLog.ler(writeLog.segmentos().getFirst())).extracting(RegistroLog::id).containsExactly(2L);
+    }
+
+    private CarroWriteLog abrir() {
+        CarroWriteLog writeLog = new CarroWriteLog(diretorio);
+        writeLog.abrir();
+        return writeLog;
+    }
+
+    private static void anexar(CarroWriteLog writeLog, RegistroLog registro) {
+        writeLog.sincronizar(writeLog.anexar(registro, () -> { }));
+    }
+
+    /** Segmento fechado com registros de IDs 1..quantidade. */
+    private Path segmentoCom(int quantidade) {
+        CarroWriteLog writeLog = abrir();
+        for (long id = 1; id <= quantidade; id++) {
+            anexar(writeLog, new RegistroLog(id, carro(id, "Fabricante " + id)));
+        }
+        writeLog.close();
+        return writeLog.segmentos().getFirst();
+    }
+
+    /** Sobrescreve o prefixo de tamanho do segundo de três registros. */
+    private Path comTamanhoDoSegundo(int tamanho) throws IOException {
+        Path segmento = segmentoCom(3);
+        try (RandomAccessFile arquivo = new RandomAccessFile(segmento.toFile(), "rw")) {
+            arquivo.seek(tamanhoDoPrimeiro(segmento));
+            arquivo.writeInt(tamanho);
+        }
+        return segmento;
+    }
+
+    private static long tamanhoDoPrimeiro(Path segmento) throws IOException {
+        return 8 + ByteBuffer.wrap(Files.readAllBytes(segmento), 0, 4).getInt();
+    }
+
+    private static Carro carro(long id, String fabricante) {
+        return new Carro(id, "Modelo " + id, 2020, "Preto", 150, fabricante, "Brasil");
+    }
+}
@@ -0,0 +1,121 @@
+package com.acme.cars.durable;
+
+import com.acme.cars.event.CarroEvento;
+import com.acme.cars.event.TipoEvento;
+import com.acme.cars.exception.RecursoNaoEncontradoException;
+import com.acme.cars.model.Carro;
+import com.acme.cars.service.CarroService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WriteBehindCarroServiceTest {
+
+    @TempDir
+    Path diretorio;
+
+    private final CarroService carroService = mock(CarroService.class);
+    private final List<CarroEvento> eventos = new CopyOnWriteArrayList<>();
+    private DriverManagerDataSource dataSource;
+    private WriteBehindCarroService service;
+
+    @BeforeEach
+    void criarServico() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:teste_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(dataSource).execute("CREATE TABLE carro (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "modelo VARCHAR(255), ano INT, cor VARCHAR(255), cavalos_de_potencia INT, fabricante VARCHAR(255), pais VARCHAR(255))");
+        when(carroService.buscarPorId(any())).thenThrow(new RecursoNaoEncontradoException("Carro não encontrado"));
+        service = novoServico(false);
+        service.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void fecharServico() throws InterruptedException {
+        service.destroy();
+        new JdbcTemplate(dataSource).execute("SHUTDOWN");
+    }
+
+    @Test
+    void descargaGravaNaTabelaApenasOUltimoEstadoDeCadaId() throws InterruptedException {
+        Carro primeiro = service.salvar(carro("Fiat"));
+        Carro segundo = service.salvar(carro("Ford"));
+        service.atualizar(primeiro.getId(), carro("Honda"));
+        service.deletar(segundo.getId());
+
+        assertThat(service.buscarPorId(primeiro.getId()).getFabricante()).isEqualTo("Honda");
+        assertThat(service.count()).isEqualTo(1);
+
+        service.destroy(); // Descarrega as pendentes antes de fechar o log.
+        assertThat(new JdbcTemplate(dataSource).queryForList("SELECT fabricante FROM carro", String.class)).containsExactly("Honda");
+        service = novoServico(false); // Reaberto para o @AfterEach.
+        service.afterPropertiesSet();
+    }
+
+    @Test
+    void atualizarConcorrenteComDeletarNaoRecriaOCarro() throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            for (int i = 0; i < 200; i++) {
+                Long id = service.salvar(carro("Fiat")).getId();
+                CountDownLatch largada = new CountDownLatch(1);
+                Future<?> atualizacao = executor.submit(() -> {
+                    largada.await();
+                    try {
+                        service.atualizar(id, carro("Ford"));
+                    } catch (RecursoNaoEncontradoException e) {
+                        // O deletar chegou antes.
+                    }
+                    return null;
+                });
+                Future<?> remocao = executor.submit(() -> {
+                    largada.await();
+                    service.deletar(id);
+                    return null;
+                });
+                largada.countDown();
+                atualizacao.get();
+                remocao.get();
+
+                assertThatThrownBy(() -> service.buscarPorId(id)).isInstanceOf(RecursoNaoEncontradoException.class);
+                assertThat(eventos.stream().filter(evento -> evento.carroId().equals(id)).map(CarroEvento::tipo).toList())
+                        .last().isEqualTo(TipoEvento.REMOVIDO);
+            }
+        }
+    }
+
+    @Test
+    void recusaSubirComReplicasLigadas() {
+        assertThatThrownBy(() -> novoServico(true)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private WriteBehindCarroService novoServico(boolean replicasLigadas) {
+        return new WriteBehindCarroService(carroService, dataSource, new DataSourceTransactionManager(dataSource),
+                evento -> eventos.add((CarroEvento) evento), new SimpleMeterRegistry(), Optional.empty(), replicasLigadas,
+                diretorio, Duration.ofHours(1), 500);
+    }
+
+    private static Carro carro(String fabricante) {
+        return Carro.builder().modelo("Modelo").ano(2020).cor("Preto").cavalosDePotencia(100).fabricante(fabricante).pais("Brasil").build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.acme.cars.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientConcurrencyLimiterTest {
+
+    private static final long LATENCIA = 10_000_000;
+
+    @Test
+    void normalRejeitadaAoAtingirOLimite() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 4, 200, 0.25);
+
+        assertThat(adquirir(limiter, Prioridade.NORMAL, 20)).isEqualTo(20);
+        assertThat(limiter.tentarAdquirir(Prioridade.NORMAL)).isFalse();
+        assertThat(limiter.tentarAdquirir(Prioridade.BAIXA)).isFalse();
+        assertThat(limiter.rejeicoes(Prioridade.NORMAL)).isEqualTo(1);
+        assertThat(limiter.rejeicoes(Prioridade.BAIXA)).isEqualTo(1);
+    }
+
+    @Test
+    void baixaLimitadaPelaPropriaFracaoEIndependenteDoTraficoNormal() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 4, 200, 0.25);
+
+        // Tráfego normal acima de 25% do limite não bloqueia exportações enquanto nenhuma está em andamento.
+        adquirir(limiter, Prioridade.NORMAL, 10);
+        assertThat(adquirir(limiter, Prioridade.BAIXA, 10)).isEqualTo(5);
+        assertThat(limiter.emAndamento()).isEqualTo(15);
+
+        // As vagas restantes do limite continuam disponíveis para as requisições normais.
+        assertThat(adquirir(limiter, Prioridade.NORMAL, 10)).isEqualTo(5);
+
+        limiter.liberar(Prioridade.BAIXA, LATENCIA);
+        assertThat(limiter.tentarAdquirir(Prioridade.BAIXA)).isTrue();
+    }
+
+    @Test
+    void baixaRejeitadaPeloLimiteTotalNaoOcupaVagaDaFracao() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 4, 200, 0.25);
+        adquirir(limiter, Prioridade.NORMAL, 20);
+
+        assertThat(limiter.tentarAdquirir(Prioridade.BAIXA)).isFalse();
+        limiter.liberar(Prioridade.NORMAL, LATENCIA);
+        limiter.liberar(Prioridade.NORMAL, LATENCIA);
+
+        assertThat(adquirir(limiter, Prioridade.BAIXA, 5)).isEqualTo(2);
+    }
+
+    @Test
+    void limiteCresceComLatenciaEstavelEEncolheQuandoElaSobe() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 4, 200, 0.25);
+        adquirir(limiter, Prioridade.NORMAL, 15);
+
+        ciclos(limiter, 100, LATENCIA);
+        int aposEstavel = limiter.limite();
+        assertThat(aposEstavel).isGreaterThan(20);
+
+        int emAndamento = 15 + adquirir(limiter, Prioridade.NORMAL, aposEstavel - 15);
+        liberarTodas(limiter, emAndamento, LATENCIA * 10);
+        assertThat(limiter.limite()).isLessThan(aposEstavel).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    void semUsoDoLimiteALatenciaNaoAlteraOLimite() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 4, 200, 0.25);
+
+        ciclos(limiter, 100, LATENCIA);
+        ciclos(limiter, 100, LATENCIA * 10);
+
+        assertThat(limiter.limite()).isEqualTo(20);
+    }
+
+    @Test
+    void limiteRespeitaMinimoEMaximo() {
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(20, 10, 30, 0.25);
+        adquirir(limiter, Prioridade.NORMAL, 19);
+
+        ciclos(limiter, 1_000, LATENCIA);
+        assertThat(limiter.limite()).isEqualTo(30);
+
+        int emAndamento = 19 + adquirir(limiter, Prioridade.NORMAL, 30);
+        liberarTodas(limiter, emAndamento, LATENCIA * 100);
+        assertThat(limiter.limite()).isEqualTo(10);
+    }
+
+    /** Uma requisição a mais que as já em andamento, liberada com a latência informada. */
+    private static void ciclos(GradientConcurrencyLimiter limiter, int quantidade, long latencia) {
+        for (int i = 0; i < quantidade; i++) {
+            if (limiter.tentarAdquirir(Prioridade.NORMAL)) {
+                limiter.liberar(Prioridade.NORMAL, latencia);
+            }
+        }
+    }
+
+    /** Requisições em andamento terminando uma a uma com a latência informada, como numa fila que se forma. */
+    private static void liberarTodas(GradientConcurrencyLimiter limiter, int emAndamento, long latencia) {
+        for (int i = 0; i < emAndamento; i++) {
+            limiter.liberar(Prioridade.NORMAL, latencia);
+        }
+    }
+
+    private static int adquirir(GradientConcurrencyLimiter limiter, Prioridade prioridade, int tentativas) {
+        return (int) IntStream.range(0, tentativas).filter(i -> limiter.tentarAdquirir(prioridade)).count();
+    }
+}
@@ -0,0 +1,52 @@
+package com.acme.cars.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+  Lê as requisições de uma coleção exportada pelo Insomnia (formato 4), como as de /collections.
+  Apenas o path e a query da URL são mantidos, para que as requisições sejam reenviadas contra
+  qualquer instância da aplicação.
+*/
+final class ColecaoInsomnia {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private ColecaoInsomnia() {
+    }
+
+    record Requisicao(String nome, String metodo, String path, Map<String, String> headers, String corpo) {
+
+        /** Identifica o endpoint nos relatórios e no mix, ex: "GET /api/carros/1". */
+        String endpoint() {
+            return metodo + " " + path;
+        }
+    }
+
+    static List<Requisicao> ler(Path arquivo) throws IOException {
+        List<Requisicao> requisicoes = new ArrayList<>();
+        for (JsonNode recurso : MAPPER.readTree(arquivo.toFile()).path("resources")) {
+            if (!"request".equals(recurso.path("_type").asText())) {
+                continue;
+            }
+            URI url = URI.create(recurso.path("url").asText());
+            String path = url.getRawQuery() == null ? url.getRawPath() : url.getRawPath() + "?" + url.getRawQuery();
+
+            Map<String, String> headers = new LinkedHashMap<>();
+            recurso.path("headers").forEach(header -> headers.put(header.path("name").asText(), header.path("value").asText()));
+            JsonNode corpo = recurso.path("body").path("text");
+
+            requisicoes.add(new Requisicao(recurso.path("name").asText(), recurso.path("method").asText(), path,
+                    headers, corpo.isMissingNode() ? null : corpo.asText()));
+        }
+        return requisicoes;
+    }
+}
@@ -0,0 +1,110 @@
+package com.acme.cars.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+  Reenvia as requisições das coleções de /collections contra a aplicação iniciada na porta aleatória,
+  registra as latências em histogramas HDR e imprime p50/p99/p999, vazão e erros (5xx) por endpoint.
+  Os erros são apenas reportados: PUT e DELETE concorrentes sobre o mesmo ID da coleção podem falhar legitimamente.
+  O resultado é gravado em JSON; com 'loadtest.baseline' apontando para um resultado anterior,
+  o teste falha se o p99 de algum endpoint piorar além do limiar.
+  Executado apenas com: mvn test -Pload-test -Dtest=ColecaoReplayLoadTest
+  Exemplo: -Dloadtest.rate=500 -Dloadtest.concurrency=64 -Dloadtest.duration=60s
+           -Dloadtest.mix="GET /api/carros=1,GET /api/carros/1=8,POST /api/usuarios/login=2,DELETE /api/carros/1=0"
+           -Dloadtest.baseline=target/loadtest/baseline.json -Dloadtest.threshold=0.2
+*/
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ColecaoReplayLoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void reenviaColecoes() throws Exception {
+        GeradorDeCarga gerador = new GeradorDeCarga("http://localhost:" + port, requisicoes(), mix());
+        double taxa = Double.parseDouble(propriedade("rate", "100"));
+        int concorrencia = Integer.parseInt(propriedade("concurrency", "16"));
+
+        gerador.executar(taxa, concorrencia, duracao("warmup", "5s")); // Aquecimento, descartado
+        List<ResultadoEndpoint> resultados = gerador.executar(taxa, concorrencia, duracao("duration", "20s"));
+        resultados.forEach(System.out::println);
+
+        Path relatorio = Path.of(propriedade("report", "target/loadtest/relatorio.json"));
+        Files.createDirectories(relatorio.toAbsolutePath().getParent());
+        MAPPER.writeValue(relatorio.toFile(), resultados);
+
+        String baseline = propriedade("baseline", "");
+        if (!baseline.isBlank()) {
+            assertThat(regressoes(resultados, Path.of(baseline))).isEmpty();
+        }
+    }
+
+    /**
+      Um endpoint regride quando o p99 supera o da baseline em mais que o limiar relativo
+      e também em mais que a tolerância absoluta, para que ruído em latências de poucos
+      milissegundos não reprove a execução.
+    */
+    private List<String> regressoes(List<ResultadoEndpoint> resultados, Path baseline) throws Exception {
+        double limiar = Double.parseDouble(propriedade("threshold", "0.2"));
+        double toleranciaMs = Double.parseDouble(propriedade("tolerance-ms", "1"));
+        Map<String, ResultadoEndpoint> anteriores = Arrays.stream(MAPPER.readValue(baseline.toFile(), ResultadoEndpoint[].class))
+                .collect(Collectors.toMap(ResultadoEndpoint::endpoint, Function.identity()));
+
+        List<String> regressoes = new ArrayList<>();
+        for (ResultadoEndpoint atual : resultados) {
+            ResultadoEndpoint anterior = anteriores.get(atual.endpoint());
+            if (anterior != null && atual.p99Ms() > anterior.p99Ms() * (1 + limiar)
+                    && atual.p99Ms() - anterior.p99Ms() > toleranciaMs) {
+                regressoes.add("%s: p99 %.2fms -> %.2fms".formatted(atual.endpoint(), anterior.p99Ms(), atual.p99Ms()));
+            }
+        }
+        return regressoes;
+    }
+
+    /** As duas coleções exportadas têm requisições em comum; cada endpoint entra uma única vez. */
+    private static List<ColecaoInsomnia.Requisicao> requisicoes() throws Exception {
+        Map<String, ColecaoInsomnia.Requisicao> porEndpoint = new LinkedHashMap<>();
+        for (String arquivo : propriedade("collections", "collections/postman.json,collections/collections.json").split(",")) {
+            ColecaoInsomnia.ler(Path.of(arquivo.trim())).forEach(r -> porEndpoint.putIfAbsent(r.endpoint(), r));
+        }
+        return List.copyOf(porEndpoint.values());
+    }
+
+    /** Formato: "METODO /path=peso,METODO /path=peso". */
+    private static Map<String, Double> mix() {
+        return Arrays.stream(propriedade("mix", "").split(","))
+                .filter(item -> !item.isBlank())
+                .map(item -> item.split("="))
+                .collect(Collectors.toMap(item -> item[0].trim(), item -> Double.parseDouble(item[1].trim())));
+    }
+
+    private static Duration duracao(String nome, String padrao) {
+        return DurationStyle.detectAndParse(propriedade(nome, padrao));
+    }
+
+    private static String propriedade(String nome, String padrao) {
+        return System.getProperty("loadtest." + nome, padrao);
+    }
+}
@@ -0,0 +1,108 @@
+package com.acme.cars.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+  Reenvia as requisições de uma coleção a uma taxa fixa (modelo aberto), limitada a 'concorrencia'
+  requisições em andamento, escolhendo cada requisição pelo peso do seu endpoint no mix.
+  A latência é medida a partir do instante em que a requisição deveria ter saído, e não de quando saiu,
+  para que a espera por uma vaga de concorrência entre na medida (evita a "coordinated omission").
+*/
+final class GeradorDeCarga {
+
+    private final String baseUrl;
+    private final List<ColecaoInsomnia.Requisicao> requisicoes;
+    private final double[] pesosAcumulados;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    /** Endpoints sem peso no mix recebem peso 1; peso 0 exclui o endpoint. */
+    GeradorDeCarga(String baseUrl, List<ColecaoInsomnia.Requisicao> requisicoes, Map<String, Double> mix) {
+        this.baseUrl = baseUrl;
+        this.requisicoes = requisicoes.stream().filter(r -> mix.getOrDefault(r.endpoint(), 1.0) > 0).toList();
+        if (this.requisicoes.isEmpty()) {
+            throw new IllegalArgumentException("O mix não deixou nenhuma requisição para executar");
+        }
+        this.pesosAcumulados = new double[this.requisicoes.size()];
+        double total = 0;
+        for (int i = 0; i < this.requisicoes.size(); i++) {
+            total += mix.getOrDefault(this.requisicoes.get(i).endpoint(), 1.0);
+            pesosAcumulados[i] = total;
+        }
+    }
+
+    /** Executa a carga por 'duracao' e devolve o resultado por endpoint, ordenado pelo nome do endpoint. */
+    List<ResultadoEndpoint> executar(double taxa, int concorrencia, Duration duracao) throws InterruptedException {
+        Map<String, Histogram> latencias = new ConcurrentHashMap<>();
+        Map<String, LongAdder> erros = new ConcurrentHashMap<>();
+        Semaphore emAndamento = new Semaphore(concorrencia);
+        long intervalo = (long) (TimeUnit.SECONDS.toNanos(1) / taxa);
+
+        long inicio = System.nanoTime();
+        long fim = inicio + duracao.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long previsto = inicio; previsto < fim; previsto += intervalo) {
+                LockSupport.parkNanos(previsto - System.nanoTime());
+                emAndamento.acquire();
+                ColecaoInsomnia.Requisicao requisicao = sortear();
+                long saidaPrevista = previsto;
+                executor.execute(() -> {
+                    try {
+                        if (enviar(requisicao) >= 500) {
+                            erros.computeIfAbsent(requisicao.endpoint(), e -> new LongAdder()).increment();
+                        }
+                    } catch (Exception e) {
+                        erros.computeIfAbsent(requisicao.endpoint(), k -> new LongAdder()).increment();
+                    } finally {
+                        latencias.computeIfAbsent(requisicao.endpoint(), e -> new ConcurrentHistogram(3))
+                                .recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - saidaPrevista));
+                        emAndamento.release();
+                    }
+                });
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        Map<String, ResultadoEndpoint> resultados = new TreeMap<>();
+        latencias.forEach((endpoint, histograma) -> resultados.put(endpoint, ResultadoEndpoint.de(endpoint, histograma,
+                erros.getOrDefault(endpoint, new LongAdder()).sum(), segundos)));
+        return List.copyOf(resultados.values());
+    }
+
+    private ColecaoInsomnia.Requisicao sortear() {
+        double sorteio = ThreadLocalRandom.current().nextDouble(pesosAcumulados[pesosAcumulados.length - 1]);
+        for (int i = 0; i < pesosAcumulados.length; i++) {
+            if (sorteio < pesosAcumulados[i]) {
+                return requisicoes.get(i);
+            }
+        }
+        return requisicoes.getLast();
+    }
+
+    private int enviar(ColecaoInsomnia.Requisicao requisicao) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + requisicao.path()))
+                .timeout(Duration.ofSeconds(30))
+                .method(requisicao.metodo(), requisicao.corpo() == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(requisicao.corpo()));
+        requisicao.headers().forEach(builder::header);
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,23 @@
+package com.acme.cars.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+/** Resumo de um endpoint após a carga; latências em milissegundos. */
+record ResultadoEndpoint(String endpoint, long requisicoes, long erros, double requisicoesPorSegundo,
+                         double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+
+    /** O histograma é registrado em microssegundos. */
+    static ResultadoEndpoint de(String endpoint, Histogram histograma, long erros, double segundos) {
+        return new ResultadoEndpoint(endpoint, histograma.getTotalCount(), erros, histograma.getTotalCount() / segundos,
+                histograma.getValueAtPercentile(50) / 1000.0,
+                histograma.getValueAtPercentile(99) / 1000.0,
+                histograma.getValueAtPercentile(99.9) / 1000.0,
+                histograma.getMaxValue() / 1000.0);
+    }
+
+    @Override
+    public String toString() {
+        return "%-32s %7d req %8.1f req/s  p50=%7.2fms  p99=%7.2fms  p999=%7.2fms  max=%7.2fms  erros=%d".formatted(
+                endpoint, requisicoes, requisicoesPorSegundo, p50Ms, p99Ms, p999Ms, maxMs, erros);
+    }
+}
@@ -0,0 +1,133 @@
+package com.acme.cars.replica;
+
+import com.acme.cars.event.CarroEvento;
+import com.acme.cars.model.Carro;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicadorTest {
+
+    private HikariDataSource primaryDataSource;
+    private Replica replica;
+    private ReplicacaoEstado estado;
+    private Replicador replicador;
+    private JdbcTemplate primario;
+
+    @BeforeEach
+    void criarBancos() {
+        primaryDataSource = dataSource("primario");
+        primario = new JdbcTemplate(primaryDataSource);
+        primario.execute("CREATE TABLE carro (id BIGINT PRIMARY KEY, modelo VARCHAR(255), ano INT, cor VARCHAR(255), "
+                + "cavalos_de_potencia INT, fabricante VARCHAR(255), pais VARCHAR(255))");
+        inserir(1, "Fiat");
+
+        replica = new Replica("replica-0", dataSource("replica"));
+        estado = new ReplicacaoEstado(List.of(replica), Duration.ofMinutes(1));
+        ConsistenciaSessao consistencia = new ConsistenciaSessao(Duration.ofSeconds(10));
+        replicador = new Replicador(primaryDataSource, estado, consistencia);
+        replicador.afterSingletonsInstantiated();
+    }
+
+    @AfterEach
+    void fecharBancos() {
+        replicador.destroy();
+        primaryDataSource.close();
+    }
+
+    @Test
+    void copiaInicialLevaOBancoInteiroParaAReplica() {
+        assertThat(fabricantesNaReplica()).containsExactly("Fiat");
+        assertThat(replica.sequenciaAplicada()).isZero();
+    }
+
+    @Test
+    void escritaNoPrimarioChegaAReplicaPeloEvento() throws InterruptedException {
+        inserir(2, "Ford");
+        replicador.aoAlterarCarro(CarroEvento.criado(carro(2, "Ford")));
+        primario.update("UPDATE carro SET fabricante = 'Honda' WHERE id = 1");
+        replicador.aoAlterarCarro(CarroEvento.atualizado(carro(1, "Fiat"), carro(1, "Honda")));
+        aguardarReplicacao();
+        assertThat(fabricantesNaReplica()).containsExactly("Honda", "Ford");
+
+        primario.update("DELETE FROM carro WHERE id = 2");
+        replicador.aoAlterarCarro(CarroEvento.removido(carro(2, "Ford")));
+        aguardarReplicacao();
+        assertThat(fabricantesNaReplica()).containsExactly("Honda");
+    }
+
+    @Test
+    void eventoForaDeOrdemAplicaOEstadoAtualDoPrimario() throws InterruptedException {
+        primario.update("UPDATE carro SET fabricante = 'Toyota' WHERE id = 1");
+        // O callback da escrita anterior (Honda) chega depois do commit da seguinte: vale a linha lida do primário.
+        replicador.aoAlterarCarro(CarroEvento.atualizado(carro(1, "Fiat"), carro(1, "Honda")));
+        aguardarReplicacao();
+
+        assertThat(fabricantesNaReplica()).containsExactly("Toyota");
+    }
+
+    @Test
+    void transacaoSomenteLeituraVaiParaAReplicaEAsDemaisParaOPrimario() {
+        // Linha presente só no primário: a leitura mostra de qual banco veio.
+        inserir(2, "Ford");
+        LazyConnectionDataSourceProxy roteador = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryDataSource, estado, new ConsistenciaSessao(Duration.ofSeconds(10))));
+        TransactionTemplate transacao = new TransactionTemplate(new DataSourceTransactionManager(roteador));
+        JdbcTemplate jdbc = new JdbcTemplate(roteador);
+
+        transacao.setReadOnly(true);
+        Long lidosNaReplica = transacao.execute(status -> jdbc.queryForObject("SELECT COUNT(*) FROM carro", Long.class));
+        transacao.setReadOnly(false);
+        Long lidosNoPrimario = transacao.execute(status -> jdbc.queryForObject("SELECT COUNT(*) FROM carro", Long.class));
+
+        assertThat(lidosNaReplica).isEqualTo(1);
+        assertThat(lidosNoPrimario).isEqualTo(2);
+    }
+
+    @Test
+    void replicaAtrasadaNaoRecebeLeituras() {
+        // Escrita registrada mas ainda não aplicada, exigida pela sessão (read-your-writes).
+        long sequencia = estado.registrarEscrita();
+
+        assertThat(estado.escolherReplica(sequencia)).isEmpty();
+        assertThat(estado.escolherReplica(0)).contains(replica);
+    }
+
+    private void aguardarReplicacao() throws InterruptedException {
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (replica.sequenciaAplicada() < estado.ultimaSequencia() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertThat(replica.sequenciaAplicada()).isEqualTo(estado.ultimaSequencia());
+    }
+
+    private List<String> fabricantesNaReplica() {
+        return replica.jdbcTemplate().queryForList("SELECT fabricante FROM carro ORDER BY id", String.class);
+    }
+
+    private void inserir(long id, String fabricante) {
+        primario.update("INSERT INTO carro VALUES (?, 'Modelo', 2020, 'Preto', 100, ?, 'Brasil')", id, fabricante);
+    }
+
+    private static Carro carro(long id, String fabricante) {
+        return new Carro(id, "Modelo", 2020, "Preto", 100, fabricante, "Brasil");
+    }
+
+    private static HikariDataSource dataSource(String nome) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + nome + "_" + UUID.randomUUID());
+        dataSource.setUsername("sa");
+        return dataSource;
+    }
+}
@@ -0,0 +1,46 @@
+package com.acme.cars.service;
+
+import com.acme.cars.payload.GrupoEstatisticaPayload;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AgregadoPotenciaTest {
+
+    @Test
+    void removerOMaximoExpoeOProximoMaior() {
+        AgregadoPotencia agregado = new AgregadoPotencia();
+        agregado.adicionar(100);
+        agregado.adicionar(300);
+        agregado.adicionar(200);
+
+        agregado.remover(300);
+
+        assertThat(agregado.toPayload()).isEqualTo(new GrupoEstatisticaPayload(2, 150.0, 200));
+    }
+
+    @Test
+    void maximoRepetidoSoSaiQuandoTodasAsOcorrenciasSaem() {
+        AgregadoPotencia agregado = new AgregadoPotencia();
+        agregado.adicionar(300);
+        agregado.adicionar(300);
+        agregado.adicionar(100);
+
+        agregado.remover(300);
+        assertThat(agregado.toPayload().maxPotencia()).isEqualTo(300);
+
+        agregado.remover(300);
+        assertThat(agregado.toPayload().maxPotencia()).isEqualTo(100);
+    }
+
+    @Test
+    void esvaziarZeraMediaEMaximo() {
+        AgregadoPotencia agregado = new AgregadoPotencia();
+        agregado.adicionar(150);
+
+        agregado.remover(150);
+
+        assertThat(agregado.vazio()).isTrue();
+        assertThat(agregado.toPayload()).isEqualTo(new GrupoEstatisticaPayload(0, 0, 0));
+    }
+}
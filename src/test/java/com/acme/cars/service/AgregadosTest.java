@@ -0,0 +1,97 @@
+package com.acme.cars.service;
+
+import com.acme.cars.model.Carro;
+import com.acme.cars.payload.EstatisticasPayload;
+import com.acme.cars.payload.GrupoEstatisticaPayload;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AgregadosTest {
+
+    @Test
+    void agrupaPorFabricantePaisEDecada() {
+        Agregados agregados = new Agregados();
+        agregados.adicionar(carro("Fiat", "Itália", 2019, 100));
+        agregados.adicionar(carro("Fiat", "Brasil", 2021, 200));
+        agregados.adicionar(carro(null, "Brasil", 2020, 300));
+
+        EstatisticasPayload payload = agregados.toPayload();
+
+        assertThat(payload.total()).isEqualTo(3);
+        assertThat(payload.porFabricante()).containsOnlyKeys("Fiat", "N/A");
+        assertThat(payload.porFabricante().get("Fiat")).isEqualTo(new GrupoEstatisticaPayload(2, 150.0, 200));
+        assertThat(payload.porPais().get("Brasil")).isEqualTo(new GrupoEstatisticaPayload(2, 250.0, 300));
+        assertThat(payload.porDecada()).containsOnlyKeys(2010, 2020);
+    }
+
+    @Test
+    void removerOMaximoRecalculaOGrupo() {
+        Agregados agregados = new Agregados();
+        agregados.adicionar(carro("Fiat", "Itália", 2019, 100));
+        agregados.adicionar(carro("Fiat", "Itália", 2018, 250));
+
+        agregados.remover(carro("Fiat", "Itália", 2018, 250));
+
+        EstatisticasPayload payload = agregados.toPayload();
+        assertThat(payload.porFabricante().get("Fiat")).isEqualTo(new GrupoEstatisticaPayload(1, 100.0, 100));
+        assertThat(payload.porDecada().get(2010)).isEqualTo(new GrupoEstatisticaPayload(1, 100.0, 100));
+    }
+
+    @Test
+    void esvaziarUmGrupoORemoveDoPayload() {
+        Agregados agregados = new Agregados();
+        agregados.adicionar(carro("Fiat", "Itália", 2019, 100));
+        agregados.adicionar(carro("Ford", "EUA", 2021, 200));
+
+        agregados.remover(carro("Ford", "EUA", 2021, 200));
+
+        EstatisticasPayload payload = agregados.toPayload();
+        assertThat(payload.total()).isEqualTo(1);
+        assertThat(payload.porFabricante()).containsOnlyKeys("Fiat");
+        assertThat(payload.porPais()).containsOnlyKeys("Itália");
+        assertThat(payload.porDecada()).containsOnlyKeys(2010);
+    }
+
+    @Test
+    void atualizacaoEhRemoverOAnteriorEAdicionarOAtual() {
+        Agregados agregados = new Agregados();
+        Carro anterior = carro("Fiat", "Itália", 2019, 100);
+        agregados.adicionar(anterior);
+
+        agregados.remover(anterior);
+        agregados.adicionar(carro("Fiat", "Brasil", 2019, 180));
+
+        EstatisticasPayload payload = agregados.toPayload();
+        assertThat(payload.total()).isEqualTo(1);
+        assertThat(payload.porFabricante().get("Fiat")).isEqualTo(new GrupoEstatisticaPayload(1, 180.0, 180));
+        assertThat(payload.porPais()).containsOnlyKeys("Brasil");
+    }
+
+    @Test
+    void eventosForaDeOrdemConvergem() {
+        Agregados agregados = new Agregados();
+        Carro original = carro("Fiat", "Itália", 2019, 100);
+        Carro primeira = carro("Ford", "EUA", 2021, 300);
+        Carro segunda = carro("Honda", "Japão", 2005, 200);
+        agregados.adicionar(original);
+
+        // A segunda atualização (Ford -> Honda) é notificada antes da primeira (Fiat -> Ford).
+        agregados.remover(primeira);
+        agregados.adicionar(segunda);
+        agregados.remover(original);
+        agregados.adicionar(primeira);
+
+        EstatisticasPayload payload = agregados.toPayload();
+        assertThat(payload.total()).isEqualTo(1);
+        assertThat(payload.porFabricante()).containsOnlyKeys("Honda");
+        assertThat(payload.porPais()).containsOnlyKeys("Japão");
+        assertThat(payload.porDecada()).containsOnlyKeys(2000);
+        assertThat(payload.porFabricante().get("Honda")).isEqualTo(new GrupoEstatisticaPayload(1, 200.0, 200));
+    }
+
+    private static Carro carro(String fabricante, String pais, int ano, int potencia) {
+        return Carro.builder().modelo("Modelo").ano(ano).cor("Preto").cavalosDePotencia(potencia)
+                .fabricante(fabricante).pais(pais).build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.acme.cars.service;
+
+import com.acme.cars.controller.CarroController;
+import com.acme.cars.event.CarroEvento;
+import com.acme.cars.model.Carro;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.UnsupportedEncodingException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class ChangeFeedServiceTest {
+
+    @Test
+    void retomarPeloLastEventIdReenviaApenasOsEventosDoFiltro() throws Exception {
+        ChangeFeedService feed = feed(16);
+        feed.aoAlterarCarro(CarroEvento.criado(carro(1, "Fiat")));
+        feed.aoAlterarCarro(CarroEvento.criado(carro(2, "Ford")));
+        feed.aoAlterarCarro(CarroEvento.atualizado(carro(2, "Ford"), carro(2, "Fiat"))); // Entra no filtro.
+        feed.aoAlterarCarro(CarroEvento.removido(carro(3, "Ford")));
+
+        MvcResult resultado = assinar(feed, get("/api/carros/changes").param("fabricante", "fiat").header("Last-Event-ID", 1));
+        feed.aoAlterarCarro(CarroEvento.criado(carro(4, "Ford")));
+        feed.aoAlterarCarro(CarroEvento.criado(carro(5, "Fiat")));
+
+        String conteudo = aguardar(resultado, "id:6\n");
+        assertThat(conteudo).contains("id:3\nevent:ATUALIZADO\n").doesNotContain("id:1\n", "id:2\n", "id:4\n", "id:5\n", "reset");
+        assertThat(conteudo.indexOf("id:3\n")).isLessThan(conteudo.indexOf("id:6\n"));
+    }
+
+    @Test
+    void idDeUmaExecucaoAnteriorRecebeReset() throws Exception {
+        ChangeFeedService feed = feed(16);
+        feed.aoAlterarCarro(CarroEvento.criado(carro(1, "Fiat")));
+        feed.aoAlterarCarro(CarroEvento.criado(carro(2, "Ford")));
+
+        // O feed recomeça do 1 a cada subida: um ID maior que o último emitido veio de outra execução.
+        MvcResult resultado = assinar(feed, get("/api/carros/changes").header("Last-Event-ID", 50));
+
+        String conteudo = aguardar(resultado, "event:reset\ndata:2\n");
+        assertThat(conteudo).doesNotContain("id:1\n", "id:2\n");
+    }
+
+    @Test
+    void idQueJaSaiuDoHistoricoRecebeReset() throws Exception {
+        ChangeFeedService feed = feed(4);
+        for (long id = 1; id <= 10; id++) {
+            feed.aoAlterarCarro(CarroEvento.criado(carro(id, "Fiat")));
+        }
+
+        MvcResult resultado = assinar(feed, get("/api/carros/changes").header("Last-Event-ID", 2));
+
+        String conteudo = aguardar(resultado, "event:reset\ndata:10\n");
+        assertThat(conteudo).doesNotContain("id:");
+    }
+
+    private static ChangeFeedService feed(int tamanhoHistorico) {
+        return new ChangeFeedService(tamanhoHistorico, 16, Duration.ofMinutes(1), Duration.ofMinutes(1));
+    }
+
+    private static MvcResult assinar(ChangeFeedService feed, MockHttpServletRequestBuilder requisicao) throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new CarroController(mock(InterfaceCarroService.class),
+                mock(CsvService.class), mock(MultiSearchService.class), feed)).build();
+        return mockMvc.perform(requisicao).andReturn();
+    }
+
+    /** Os eventos são enviados pela thread de entrega do assinante; espera até o trecho aparecer na resposta. */
+    private static String aguardar(MvcResult resultado, String trecho) throws InterruptedException, UnsupportedEncodingException {
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!resultado.getResponse().getContentAsString().contains(trecho) && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        String conteudo = resultado.getResponse().getContentAsString();
+        assertThat(conteudo).contains(trecho);
+        return conteudo;
+    }
+
+    private static Carro carro(long id, String fabricante) {
+        return new Carro(id, "Modelo " + id, 2020, "Preto", 100, fabricante, "Brasil");
+    }
+}
@@ -0,0 +1,82 @@
+package com.acme.cars.service;
+
+import com.acme.cars.dto.UsuarioPerfilDTO;
+import com.acme.cars.event.UsuarioEvento;
+import com.acme.cars.model.Usuario;
+import com.acme.cars.repository.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UsuarioPerfilCacheTest {
+
+    private static final String EMAIL = "ana@acme.com";
+
+    private final UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+    private final UsuarioPerfilCache cache = new UsuarioPerfilCache(usuarioRepository, 100, Duration.ofMillis(50));
+
+    @Test
+    void perfilCarregadoEhServidoDoCache() {
+        when(usuarioRepository.findPerfilById(1L)).thenReturn(Optional.of(perfil("Ana")));
+
+        cache.perfilPorId(1L);
+        assertThat(cache.perfilPorId(1L)).contains(perfil("Ana"));
+
+        verify(usuarioRepository, times(1)).findPerfilById(1L);
+    }
+
+    @Test
+    void atualizacaoDuranteOCarregamentoNaoDeixaOPerfilAntigoNoCache() {
+        // A leitura vê o estado antigo e, antes de ela terminar, a atualização é confirmada e invalida a entrada.
+        when(usuarioRepository.findPerfilById(1L))
+                .thenAnswer(invocacao -> {
+                    cache.aoAlterarUsuario(UsuarioEvento.atualizado(usuario("Ana"), usuario("Ana Maria")));
+                    return Optional.of(perfil("Ana"));
+                })
+                .thenReturn(Optional.of(perfil("Ana Maria")));
+
+        assertThat(cache.perfilPorId(1L)).contains(perfil("Ana"));
+        assertThat(cache.perfilPorId(1L)).contains(perfil("Ana Maria"));
+    }
+
+    @Test
+    void trocaDeSenhaDuranteOCarregamentoNaoMantemASenhaAntigaValida() {
+        when(usuarioRepository.findPerfilByEmail(EMAIL)).thenReturn(Optional.of(perfil("Ana")));
+        when(usuarioRepository.findPasswordByEmail(EMAIL))
+                .thenAnswer(invocacao -> {
+                    cache.aoAlterarUsuario(UsuarioEvento.atualizado(usuario("Ana"), usuario("Ana")));
+                    return Optional.of("antiga");
+                })
+                .thenReturn(Optional.of("nova"));
+
+        assertThat(cache.autenticar(EMAIL, "antiga")).isPresent();
+        assertThat(cache.autenticar(EMAIL, "antiga")).isEmpty();
+        assertThat(cache.autenticar(EMAIL, "nova")).isPresent();
+    }
+
+    @Test
+    void ausenciaExpiraDepoisDaValidadeNegativa() throws InterruptedException {
+        when(usuarioRepository.findPerfilById(2L)).thenReturn(Optional.empty(), Optional.of(perfil("Bruno")));
+
+        assertThat(cache.perfilPorId(2L)).isEmpty();
+        assertThat(cache.perfilPorId(2L)).isEmpty();
+        Thread.sleep(100);
+
+        assertThat(cache.perfilPorId(2L)).contains(perfil("Bruno"));
+    }
+
+    private static UsuarioPerfilDTO perfil(String nome) {
+        return new UsuarioPerfilDTO(1L, EMAIL, nome, "Analista", null);
+    }
+
+    private static Usuario usuario(String nome) {
+        return perfil(nome).toUsuario();
+    }
+}
@@ -0,0 +1,150 @@
+package com.acme.cars.sharding;
+
+import com.acme.cars.exception.RecursoNaoEncontradoException;
+import com.acme.cars.model.Carro;
+import com.acme.cars.repository.CarroRepository;
+import com.acme.cars.specification.CarroFabricanteSpecification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ShardedCarroServiceTest {
+
+    private static final List<String> FABRICANTES = List.of("Fiat", "Ford", "Honda", "Toyota", "Volkswagen", "Renault");
+
+    private CarroShards shards;
+    private ShardedCarroService service;
+
+    @BeforeEach
+    void criarShards() {
+        shards = new CarroShards(4, "jdbc:h2:mem:teste_" + UUID.randomUUID() + "_%d;DB_CLOSE_DELAY=-1");
+        service = new ShardedCarroService(shards, mock(CarroRepository.class), mock(ApplicationEventPublisher.class));
+        service.afterSingletonsInstantiated();
+        IntStream.range(0, 12).forEach(i -> service.salvar(carro(FABRICANTES.get(i % FABRICANTES.size()))));
+    }
+
+    @AfterEach
+    void fecharShards() {
+        shards.destroy();
+    }
+
+    @Test
+    void gravaCadaCarroNoShardDoFabricante() {
+        for (CarroShard shard : shards.todos()) {
+            shard.listar(100).forEach(carro -> assertThat(shards.shardPara(carro.getFabricante())).isSameAs(shard));
+        }
+        assertThat(shards.todos().stream().filter(shard -> shard.count() > 0).count()).isGreaterThan(1);
+    }
+
+    @Test
+    void paginaGlobalmentePelaOrdemDoId() {
+        assertThat(ids(service.listarTodos(PageRequest.of(0, 5)))).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(ids(service.listarTodos(PageRequest.of(2, 5)))).containsExactly(11L, 12L);
+        assertThat(service.count()).isEqualTo(12);
+    }
+
+    @Test
+    void buscaPorFabricanteConsultaApenasOShardDele() {
+        // Uma cópia plantada em outro shard só apareceria se a busca consultasse shards fora da rota.
+        CarroShard outro = shards.todos().stream().filter(shard -> shard != shards.shardPara("Honda")).findFirst().orElseThrow();
+        outro.gravar(Carro.builder().id(99L).modelo("Fora da rota").fabricante("Honda").build());
+
+        assertThat(service.search(List.of(new CarroFabricanteSpecification("honda"))))
+                .extracting(Carro::getId).containsExactly(3L, 9L);
+    }
+
+    @Test
+    void moverDeShardNaoDuplicaResultados() {
+        Carro carro = service.buscarPorId(1L);
+        CarroShard destino = shards.todos().stream().filter(shard -> shard != shards.shardPara("Fiat")).findFirst().orElseThrow();
+        // Estado intermediário de atualizar: a linha já foi gravada no destino e ainda não saiu da origem.
+        destino.gravar(carro);
+
+        assertThat(ids(service.listarTodos(PageRequest.of(0, 3)))).containsExactly(1L, 2L, 3L);
+        assertThat(ids(service.search(List.of()))).hasSize(12).doesNotHaveDuplicates();
+        assertThat(ids(service.buscarPorIds(List.of(1L, 2L)))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void atualizarMoveOCarroParaOShardDoNovoFabricante() {
+        Carro atualizado = carro("Toyota");
+        service.atualizar(1L, atualizado);
+
+        assertThat(shards.shardPara("Toyota").buscarPorId(1L)).isPresent();
+        assertThat(shards.todos().stream().filter(shard -> shard.buscarPorId(1L).isPresent()).count()).isEqualTo(1);
+        assertThat(ids(service.search(List.of(new CarroFabricanteSpecification("toyota"))))).containsExactly(1L, 4L, 10L);
+    }
+
+    @Test
+    void mudancasConcorrentesDeShardDeixamUmaUnicaCopia() throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            for (int i = 0; i < 50; i++) {
+                Long id = service.salvar(carro("Fiat")).getId();
+                CountDownLatch largada = new CountDownLatch(1);
+                List<Future<?>> tarefas = List.of("Toyota", "Honda", "Volkswagen").stream()
+                        .<Future<?>>map(fabricante -> executor.submit(() -> {
+                            largada.await();
+                            return service.atualizar(id, carro(fabricante));
+                        }))
+                        .toList();
+                largada.countDown();
+                for (Future<?> tarefa : tarefas) {
+                    tarefa.get();
+                }
+
+                assertThat(shards.todos().stream().filter(shard -> shard.buscarPorId(id).isPresent()).count()).isEqualTo(1);
+            }
+        }
+        assertThat(service.count()).isEqualTo(62);
+    }
+
+    @Test
+    void deletarConcorrenteComMudancaDeShardNaoRecriaOCarro() throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            for (int i = 0; i < 50; i++) {
+                Long id = service.salvar(carro("Fiat")).getId();
+                CountDownLatch largada = new CountDownLatch(1);
+                Future<?> mudanca = executor.submit(() -> {
+                    largada.await();
+                    try {
+                        service.atualizar(id, carro("Toyota"));
+                    } catch (RecursoNaoEncontradoException e) {
+                        // O deletar chegou antes.
+                    }
+                    return null;
+                });
+                Future<?> remocao = executor.submit(() -> {
+                    largada.await();
+                    service.deletar(id);
+                    return null;
+                });
+                largada.countDown();
+                mudanca.get();
+                remocao.get();
+
+                assertThat(shards.todos().stream().filter(shard -> shard.buscarPorId(id).isPresent()).count()).isZero();
+            }
+        }
+    }
+
+    private static Carro carro(String fabricante) {
+        return Carro.builder().modelo("Modelo").ano(2020).cor("Preto").cavalosDePotencia(100).fabricante(fabricante).pais("Brasil").build();
+    }
+
+    private static List<Long> ids(List<Carro> carros) {
+        return carros.stream().map(Carro::getId).toList();
+    }
+}